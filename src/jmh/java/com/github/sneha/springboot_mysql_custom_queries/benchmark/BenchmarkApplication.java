@@ -0,0 +1,94 @@
+package com.github.sneha.springboot_mysql_custom_queries.benchmark;
+
+import com.github.sneha.springboot_mysql_custom_queries.SpringbootMySQLCustomQueriesDemoApplication;
+import com.github.sneha.springboot_mysql_custom_queries.model.Employee;
+import com.github.sneha.springboot_mysql_custom_queries.service.EmployeeService;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Helpers shared by the JMH benchmarks for starting the application and generating test data.
+ *
+ * @author sneharavikumartl
+ */
+public final class BenchmarkApplication {
+
+    private static final String[] DEPARTMENTS = {"Engineering", "Finance", "HR", "Marketing", "Operations", "Sales"};
+
+    private static final AtomicLong SEQUENCE = new AtomicLong();
+
+    private static final int SEED_CHUNK = 10_000;
+
+    private BenchmarkApplication() {
+    }
+
+    /**
+     * Starts the application without a web server, using the benchmark profile.
+     *
+     * @param properties additional properties in key=value form
+     * @return the running application context
+     */
+    public static ConfigurableApplicationContext start(String... properties) {
+        return new SpringApplicationBuilder(SpringbootMySQLCustomQueriesDemoApplication.class)
+                .profiles("benchmark")
+                .properties(properties)
+                .web(WebApplicationType.NONE)
+                .run();
+    }
+
+    /**
+     * Starts the application with its web server on a random port, using the benchmark profile.
+     * The management server is disabled.
+     *
+     * @param properties additional properties in key=value form
+     * @return the running application context; the port is available as local.server.port
+     */
+    public static ConfigurableApplicationContext startWeb(String... properties) {
+        return new SpringApplicationBuilder(SpringbootMySQLCustomQueriesDemoApplication.class)
+                .profiles("benchmark")
+                .properties("server.port=0", "management.server.port=-1")
+                .properties(properties)
+                .web(WebApplicationType.SERVLET)
+                .run();
+    }
+
+    /**
+     * Seeds the database with employees generated by {@link #newEmployee()}, inserted in batches.
+     * The generated names, salaries and departments are the same in every run.
+     *
+     * @param context the running application context
+     * @param count   the number of employees to insert
+     */
+    public static void seed(ConfigurableApplicationContext context, int count) {
+        EmployeeService employeeService = context.getBean(EmployeeService.class);
+        for (int seeded = 0; seeded < count; seeded += SEED_CHUNK) {
+            List<Employee> employees = new ArrayList<>();
+            for (int i = seeded; i < Math.min(seeded + SEED_CHUNK, count); i++) {
+                employees.add(newEmployee());
+            }
+            employeeService.createEmployees(employees);
+        }
+    }
+
+    /**
+     * Creates a new, valid employee with a unique email address.
+     *
+     * @return a new employee without an employeeId
+     */
+    public static Employee newEmployee() {
+        long n = SEQUENCE.incrementAndGet();
+        Employee employee = new Employee();
+        employee.setEmployeeName("Employee " + n);
+        employee.setEmail("employee" + n + "@example.com");
+        employee.setPhoneNumber(String.format("%010d", n % 10_000_000_000L));
+        employee.setAddress(n + " Benchmark Street");
+        employee.setSalary(30_000 + (n * 7919) % 170_000d);
+        employee.setDept(DEPARTMENTS[(int) (n % DEPARTMENTS.length)]);
+        return employee;
+    }
+}
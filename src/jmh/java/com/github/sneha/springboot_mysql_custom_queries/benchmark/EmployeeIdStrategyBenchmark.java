@@ -0,0 +1,79 @@
+package com.github.sneha.springboot_mysql_custom_queries.benchmark;
+
+import com.github.sneha.springboot_mysql_custom_queries.model.Employee;
+import com.github.sneha.springboot_mysql_custom_queries.service.EmployeeService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the bulk insert throughput of the time-ordered and random employeeId strategies
+ * once the table already holds preloadRows employees. Scores are reported in rows per second.
+ *
+ * The effect of random keys (page splits, poor buffer pool locality) only shows once the
+ * clustered index no longer fits in memory, so run this against a real MySQL server by
+ * exporting SPRING_DATASOURCE_URL, SPRING_DATASOURCE_USERNAME and SPRING_DATASOURCE_PASSWORD.
+ * Use a smaller preloadRows (-p preloadRows=100000) for a quick local run.
+ *
+ * @author sneharavikumartl
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 10)
+@Measurement(iterations = 5, time = 10)
+@Fork(value = 1, jvmArgsAppend = "-Xmx8g")
+public class EmployeeIdStrategyBenchmark {
+
+    private static final int ROWS_PER_INVOCATION = 1_000;
+
+    private static final int PRELOAD_CHUNK = 10_000;
+
+    @Param({"time-ordered", "random"})
+    private String strategy;
+
+    @Param({"10000000"})
+    private int preloadRows;
+
+    private ConfigurableApplicationContext context;
+
+    private EmployeeService employeeService;
+
+    private List<Employee> employees;
+
+    @Setup(Level.Trial)
+    public void startApplication() {
+        context = BenchmarkApplication.start("employee.id.strategy=" + strategy);
+        employeeService = context.getBean(EmployeeService.class);
+        for (int loaded = 0; loaded < preloadRows; loaded += PRELOAD_CHUNK) {
+            employeeService.createEmployees(newEmployees(Math.min(PRELOAD_CHUNK, preloadRows - loaded)));
+        }
+    }
+
+    @Setup(Level.Invocation)
+    public void generateEmployees() {
+        employees = newEmployees(ROWS_PER_INVOCATION);
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        context.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS_PER_INVOCATION)
+    public List<Employee> batchInsert() {
+        return employeeService.createEmployees(employees);
+    }
+
+    private static List<Employee> newEmployees(int count) {
+        List<Employee> employees = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            employees.add(BenchmarkApplication.newEmployee());
+        }
+        return employees;
+    }
+}
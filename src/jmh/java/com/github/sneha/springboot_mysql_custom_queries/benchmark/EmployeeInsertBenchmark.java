@@ -0,0 +1,67 @@
+package com.github.sneha.springboot_mysql_custom_queries.benchmark;
+
+import com.github.sneha.springboot_mysql_custom_queries.model.Employee;
+import com.github.sneha.springboot_mysql_custom_queries.service.EmployeeService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the insert throughput of the single-insert path (one createEmployee call per row)
+ * with the bulk path (createEmployees, JDBC batches of hibernate.jdbc.batch_size rows).
+ * Scores are reported in rows per second.
+ *
+ * @author sneharavikumartl
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class EmployeeInsertBenchmark {
+
+    private static final int ROWS_PER_INVOCATION = 1_000;
+
+    private ConfigurableApplicationContext context;
+
+    private EmployeeService employeeService;
+
+    private List<Employee> employees;
+
+    @Setup(Level.Trial)
+    public void startApplication() {
+        context = BenchmarkApplication.start();
+        employeeService = context.getBean(EmployeeService.class);
+    }
+
+    @Setup(Level.Invocation)
+    public void generateEmployees() {
+        employees = new ArrayList<>(ROWS_PER_INVOCATION);
+        for (int i = 0; i < ROWS_PER_INVOCATION; i++) {
+            employees.add(BenchmarkApplication.newEmployee());
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        context.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS_PER_INVOCATION)
+    public void singleInsert() {
+        for (Employee employee : employees) {
+            employeeService.createEmployee(employee);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS_PER_INVOCATION)
+    public List<Employee> batchInsert() {
+        return employeeService.createEmployees(employees);
+    }
+}
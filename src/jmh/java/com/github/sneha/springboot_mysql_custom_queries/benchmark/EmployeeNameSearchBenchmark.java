@@ -0,0 +1,115 @@
+package com.github.sneha.springboot_mysql_custom_queries.benchmark;
+
+import com.github.sneha.springboot_mysql_custom_queries.index.EmployeeNames;
+import com.github.sneha.springboot_mysql_custom_queries.model.EmployeeNameMatch;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jol.info.GraphLayout;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures type-ahead searches on the EmployeeNames index with 1,000,000 employees, for prefixes
+ * of one, three and five characters, across all departments and within one. Scores are sampled per
+ * search, so JMH reports the latency percentiles (p99 included) in microseconds.
+ *
+ * The scan benchmark answers the same search by filtering and sorting all names, which is the work
+ * a LIKE 'prefix%' query without a usable index does. The heap retained by the index, measured
+ * with JOL, and the index's own estimate are printed once per trial before the warmup starts.
+ *
+ * @author sneharavikumartl
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class EmployeeNameSearchBenchmark {
+
+    private static final int EMPLOYEES = 1_000_000;
+
+    private static final int LIMIT = 10;
+
+    private static final String[] SYLLABLES = {"an", "be", "ca", "de", "el", "fa", "gi", "ha", "is", "jo", "ka", "li",
+            "ma", "ne", "or", "pa", "qui", "ra", "sa", "ta", "ul", "vi", "wa", "xe", "ya", "zo"};
+
+    private static final String[] DEPARTMENTS = {"Engineering", "Finance", "HR", "Marketing", "Operations", "Sales"};
+
+    private static final int PREFIXES = 1024;
+
+    @Param({"1", "3", "5"})
+    public int prefixLength;
+
+    @Param({"all", "department"})
+    public String scope;
+
+    private EmployeeNames names;
+
+    private List<String> employeeNames;
+
+    private String[] prefixes;
+
+    private int next;
+
+    @Setup(Level.Trial)
+    public void generateEmployees() {
+        Random random = new Random(42);
+        names = new EmployeeNames();
+        employeeNames = new ArrayList<>(EMPLOYEES);
+        for (int i = 0; i < EMPLOYEES; i++) {
+            String employeeName = name(random, 2) + " " + name(random, 3);
+            employeeNames.add(employeeName);
+            names.put(UUID.randomUUID(), employeeName, DEPARTMENTS[i % DEPARTMENTS.length]);
+        }
+        prefixes = new String[PREFIXES];
+        for (int i = 0; i < PREFIXES; i++) {
+            String employeeName = employeeNames.get(random.nextInt(EMPLOYEES));
+            prefixes[i] = employeeName.substring(0, Math.min(prefixLength, employeeName.length()));
+        }
+        System.out.printf("%nHeap for %,d employees: index %,d bytes measured, %,d bytes estimated%n",
+                EMPLOYEES, GraphLayout.parseInstance(names).totalSize(), names.estimatedBytes());
+    }
+
+    @Benchmark
+    public List<EmployeeNameMatch> index() {
+        return names.search(nextPrefix(), department(), LIMIT);
+    }
+
+    @Benchmark
+    public List<String> scan() {
+        String prefix = nextPrefix().toLowerCase(Locale.ROOT);
+        List<String> matches = new ArrayList<>();
+        int stride = department() == null ? 1 : DEPARTMENTS.length;
+        for (int i = 0; i < EMPLOYEES; i += stride) {
+            String employeeName = employeeNames.get(i);
+            if (employeeName.toLowerCase(Locale.ROOT).startsWith(prefix)) {
+                matches.add(employeeName);
+            }
+        }
+        matches.sort(Comparator.comparing(employeeName -> employeeName.toLowerCase(Locale.ROOT)));
+        return matches.subList(0, Math.min(LIMIT, matches.size()));
+    }
+
+    private String nextPrefix() {
+        return prefixes[next++ & (PREFIXES - 1)];
+    }
+
+    private String department() {
+        return scope.equals("all") ? null : DEPARTMENTS[0];
+    }
+
+    private static String name(Random random, int syllables) {
+        StringBuilder name = new StringBuilder();
+        for (int i = 0; i < syllables; i++) {
+            name.append(SYLLABLES[random.nextInt(SYLLABLES.length)]);
+        }
+        name.setCharAt(0, Character.toUpperCase(name.charAt(0)));
+        return name.toString();
+    }
+}
@@ -0,0 +1,119 @@
+package com.github.sneha.springboot_mysql_custom_queries.benchmark;
+
+import com.github.sneha.springboot_mysql_custom_queries.model.Employee;
+import com.github.sneha.springboot_mysql_custom_queries.model.EmployeePatch;
+import com.github.sneha.springboot_mysql_custom_queries.service.EmployeeService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Compares the full update path (POST updateEmployee: findById and an UPDATE of every column)
+ * with the partial update path (PATCH: a single UPDATE of the changed columns, checked against the version)
+ * under concurrent updates. Every thread updates its own employees, so no update is rejected.
+ * Scores are reported in updates per second; the JDBC statements per update are printed after each trial.
+ *
+ * @author sneharavikumartl
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Threads(4)
+@Fork(1)
+public class EmployeePatchBenchmark {
+
+    private static final int EMPLOYEES_PER_THREAD = 1_000;
+
+    private ConfigurableApplicationContext context;
+
+    private EmployeeService employeeService;
+
+    private Statistics statistics;
+
+    private final LongAdder updates = new LongAdder();
+
+    @Setup(Level.Trial)
+    public void startApplication() {
+        context = BenchmarkApplication.start("spring.jpa.properties.hibernate.generate_statistics=true");
+        employeeService = context.getBean(EmployeeService.class);
+        statistics = context.getBean(EntityManagerFactory.class).unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Setup(Level.Iteration)
+    public void resetStatistics() {
+        statistics.clear();
+        updates.reset();
+    }
+
+    @TearDown(Level.Iteration)
+    public void printStatementsPerUpdate() {
+        long count = updates.sum();
+        System.out.printf("%n%.2f JDBC statements per update%n", count == 0 ? 0 : (double) statistics.getPrepareStatementCount() / count);
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        context.close();
+    }
+
+    /**
+     * The employees updated by one benchmark thread, with the version each of them currently has.
+     */
+    @State(Scope.Thread)
+    public static class OwnEmployees {
+
+        private UUID[] employeeIds;
+
+        private long[] versions;
+
+        private int next;
+
+        @Setup(Level.Trial)
+        public void seed(EmployeePatchBenchmark benchmark) {
+            List<Employee> employees = new ArrayList<>(EMPLOYEES_PER_THREAD);
+            for (int i = 0; i < EMPLOYEES_PER_THREAD; i++) {
+                employees.add(BenchmarkApplication.newEmployee());
+            }
+            benchmark.employeeService.createEmployees(employees);
+            employeeIds = employees.stream().map(Employee::getEmployeeId).toArray(UUID[]::new);
+            versions = new long[EMPLOYEES_PER_THREAD];
+        }
+
+        int nextIndex() {
+            next = (next + 1) % EMPLOYEES_PER_THREAD;
+            return next;
+        }
+    }
+
+    @Benchmark
+    public Employee postUpdate(OwnEmployees own) {
+        int i = own.nextIndex();
+        Employee employee = BenchmarkApplication.newEmployee();
+        Employee updated = employeeService.updateEmployee(own.employeeIds[i], employee);
+        own.versions[i] = updated.getVersion();
+        updates.increment();
+        return updated;
+    }
+
+    @Benchmark
+    public long patch(OwnEmployees own) {
+        int i = own.nextIndex();
+        EmployeePatch patch = new EmployeePatch();
+        patch.setVersion(own.versions[i]);
+        patch.setAddress(own.versions[i] + " Patched Street");
+        patch.setSalary(40_000d + own.versions[i]);
+        own.versions[i] = employeeService.patchEmployee(own.employeeIds[i], patch);
+        updates.increment();
+        return own.versions[i];
+    }
+}
@@ -0,0 +1,54 @@
+package com.github.sneha.springboot_mysql_custom_queries.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.sneha.springboot_mysql_custom_queries.model.Employee;
+import com.github.sneha.springboot_mysql_custom_queries.repository.EmployeeRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures Jackson serialization of Employee lists as the controllers return them, using the
+ * application's ObjectMapper. The employees are loaded from the seeded dataset.
+ *
+ * @author sneharavikumartl
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class EmployeeSerializationBenchmark {
+
+    @Param({"10", "100", "1000"})
+    public int listSize;
+
+    private ConfigurableApplicationContext context;
+
+    private ObjectMapper objectMapper;
+
+    private List<Employee> employees;
+
+    @Setup(Level.Trial)
+    public void startApplication() {
+        context = BenchmarkApplication.start();
+        BenchmarkApplication.seed(context, listSize);
+        objectMapper = context.getBean(ObjectMapper.class);
+        employees = context.getBean(EmployeeRepository.class).findAll(PageRequest.ofSize(listSize)).getContent();
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        context.close();
+    }
+
+    @Benchmark
+    public byte[] serializeEmployees() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(employees);
+    }
+}
@@ -0,0 +1,106 @@
+package com.github.sneha.springboot_mysql_custom_queries.benchmark;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.github.sneha.springboot_mysql_custom_queries.config.WireFormatConfig;
+import com.github.sneha.springboot_mysql_custom_queries.model.Employee;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Compares the wire formats of the bulk employee endpoints: JSON, Smile and CBOR, each with and
+ * without gzip response compression. Every invocation streams 100,000 employees into a byte counter,
+ * the way getAllEmployeeDetails streams them into the response; the score is the serialization
+ * (and compression) time per 100,000 employees, and the bytes on the wire are printed after each trial.
+ *
+ * @author sneharavikumartl
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class EmployeeWireFormatBenchmark {
+
+    private static final int EMPLOYEES = 100_000;
+
+    @Param({"json", "smile", "cbor"})
+    public String format;
+
+    @Param({"false", "true"})
+    public boolean gzip;
+
+    private ObjectMapper mapper;
+
+    private ObjectWriter writer;
+
+    private List<Employee> employees;
+
+    private long bytes;
+
+    @Setup(Level.Trial)
+    public void generateEmployees() {
+        WireFormatConfig config = new WireFormatConfig();
+        mapper = switch (format) {
+            case "smile" -> config.smileHttpMessageConverter(new Jackson2ObjectMapperBuilder()).getObjectMapper();
+            case "cbor" -> config.cborHttpMessageConverter(new Jackson2ObjectMapperBuilder()).getObjectMapper();
+            default -> new Jackson2ObjectMapperBuilder().build();
+        };
+        writer = mapper.writerFor(Employee.class);
+        employees = new ArrayList<>(EMPLOYEES);
+        for (int i = 0; i < EMPLOYEES; i++) {
+            Employee employee = BenchmarkApplication.newEmployee();
+            employee.setEmployeeId(UUID.randomUUID());
+            employee.setVersion(0L);
+            employees.add(employee);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void printBytesOnTheWire() {
+        System.out.printf("%n%s%s: %,d bytes per %,d employees%n", format, gzip ? "+gzip" : "", bytes, EMPLOYEES);
+    }
+
+    @Benchmark
+    public long serialize() throws IOException {
+        ByteCounter counter = new ByteCounter();
+        try (OutputStream out = gzip ? new GZIPOutputStream(counter, 8192) : counter;
+             JsonGenerator generator = mapper.getFactory().createGenerator(out)) {
+            generator.writeStartArray();
+            for (Employee employee : employees) {
+                writer.writeValue(generator, employee);
+            }
+            generator.writeEndArray();
+        }
+        bytes = counter.count;
+        return bytes;
+    }
+
+    /**
+     * Counts the bytes written to it and discards them.
+     */
+    private static final class ByteCounter extends OutputStream {
+
+        private long count;
+
+        @Override
+        public void write(int b) {
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count += len;
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.github.sneha.springboot_mysql_custom_queries.benchmark;
+
+import com.github.sneha.springboot_mysql_custom_queries.model.Employee;
+import com.github.sneha.springboot_mysql_custom_queries.service.EmployeeService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+/**
+ * Measures the error paths handled by GlobalExceptionHandler and @ResponseStatus exceptions through
+ * the DispatcherServlet, against a successful request as the baseline. Requests are dispatched with
+ * MockMvc, so neither the network nor the security filters are part of the measurement.
+ *
+ * The exceptions log themselves when they are created; that logging is turned off here so the
+ * benchmark output stays readable, its cost depends on the logging configuration anyway.
+ *
+ * @author sneharavikumartl
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class ExceptionHandlerBenchmark {
+
+    private static final String INVALID_EMPLOYEE = "{\"employeeName\":\"\",\"email\":\"not-an-email\",\"salary\":1000,\"dept\":\"HR\"}";
+
+    private ConfigurableApplicationContext context;
+
+    private MockMvc mockMvc;
+
+    private String existingEmployeePath;
+
+    private String missingEmployeePath;
+
+    @Setup(Level.Trial)
+    public void startApplication() {
+        context = BenchmarkApplication.startWeb("logging.level.com.github.sneha.springboot_mysql_custom_queries.exception=OFF");
+        mockMvc = MockMvcBuilders.webAppContextSetup((WebApplicationContext) context).build();
+        Employee employee = context.getBean(EmployeeService.class).createEmployee(BenchmarkApplication.newEmployee());
+        existingEmployeePath = "/employees/getEmployee/" + employee.getEmployeeId();
+        missingEmployeePath = "/employees/getEmployee/" + UUID.randomUUID();
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        context.close();
+    }
+
+    @Benchmark
+    public MvcResult foundBaseline() throws Exception {
+        return mockMvc.perform(get(existingEmployeePath)).andReturn();
+    }
+
+    @Benchmark
+    public MvcResult employeeNotFound() throws Exception {
+        return mockMvc.perform(get(missingEmployeePath)).andReturn();
+    }
+
+    @Benchmark
+    public MvcResult validationFailed() throws Exception {
+        return mockMvc.perform(post("/employees/addEmployee").contentType(MediaType.APPLICATION_JSON).content(INVALID_EMPLOYEE)).andReturn();
+    }
+
+    @Benchmark
+    public MvcResult invalidCursor() throws Exception {
+        return mockMvc.perform(get("/employees/getAllEmployeesPage").param("cursor", "not-a-cursor")).andReturn();
+    }
+}
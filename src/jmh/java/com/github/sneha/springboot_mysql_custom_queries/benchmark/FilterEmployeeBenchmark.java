@@ -0,0 +1,64 @@
+package com.github.sneha.springboot_mysql_custom_queries.benchmark;
+
+import com.github.sneha.springboot_mysql_custom_queries.model.Employee;
+import com.github.sneha.springboot_mysql_custom_queries.repository.EmployeeCriteriaBuilderRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures EmployeeCriteriaBuilderImpl.filterEmployee end to end, query construction and execution,
+ * for each filter shape against the seeded dataset. FilterQueryBuildBenchmark isolates the construction part.
+ *
+ * @author sneharavikumartl
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class FilterEmployeeBenchmark {
+
+    private static final int EMPLOYEES = 50_000;
+
+    /**
+     * department: only a department. range: a department and a narrow salary range. salary: only a narrow salary range.
+     */
+    @Param({"department", "range", "salary"})
+    public String filter;
+
+    private ConfigurableApplicationContext context;
+
+    private EmployeeCriteriaBuilderRepository employeeCriteriaBuilder;
+
+    private String department;
+
+    private Double minSalary;
+
+    private Double maxSalary;
+
+    @Setup(Level.Trial)
+    public void startApplication() {
+        context = BenchmarkApplication.start();
+        BenchmarkApplication.seed(context, EMPLOYEES);
+        employeeCriteriaBuilder = context.getBean(EmployeeCriteriaBuilderRepository.class);
+        department = filter.equals("salary") ? null : "Finance";
+        if (!filter.equals("department")) {
+            minSalary = 50_000d;
+            maxSalary = 51_000d;
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<Employee> filterEmployee() {
+        return employeeCriteriaBuilder.filterEmployee(department, minSalary, maxSalary);
+    }
+}
@@ -0,0 +1,100 @@
+package com.github.sneha.springboot_mysql_custom_queries.benchmark;
+
+import com.github.sneha.springboot_mysql_custom_queries.model.Employee;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the cost of preparing a filter query for execution, without executing it.
+ * rebuiltCriteria is how EmployeeCriteriaBuilderImpl used to do it: a new Criteria tree per call, with
+ * the old controller defaults (minSalary=0, maxSalary=Double.MAX_VALUE) always adding both salary predicates.
+ * cachedShape is how it does it now: the JPQL of the filter's shape is built once, each call only
+ * creates a query from it, whose interpretation Hibernate has cached, and binds the values.
+ *
+ * @author sneharavikumartl
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class FilterQueryBuildBenchmark {
+
+    /**
+     * department: only a department is given. range: a department and both salary bounds are given.
+     */
+    @Param({"department", "range"})
+    public String filter;
+
+    private ConfigurableApplicationContext context;
+
+    private EntityManager entityManager;
+
+    private String cachedJpql;
+
+    private Double minSalary;
+
+    private Double maxSalary;
+
+    @Setup(Level.Trial)
+    public void startApplication() {
+        context = BenchmarkApplication.start();
+        entityManager = context.getBean(EntityManagerFactory.class).createEntityManager();
+        if (filter.equals("range")) {
+            minSalary = 50_000d;
+            maxSalary = 60_000d;
+        }
+        cachedJpql = buildShape();
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        entityManager.close();
+        context.close();
+    }
+
+    @Benchmark
+    public TypedQuery<Employee> rebuiltCriteria() {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Employee> cq = cb.createQuery(Employee.class);
+        Root<Employee> employee = cq.from(Employee.class);
+        List<Predicate> predicates = new ArrayList<>();
+        predicates.add(cb.equal(employee.get("dept"), "Finance"));
+        predicates.add(cb.greaterThanOrEqualTo(employee.get("salary"), minSalary == null ? 0 : minSalary));
+        predicates.add(cb.lessThanOrEqualTo(employee.get("salary"), maxSalary == null ? Double.MAX_VALUE : maxSalary));
+        cq.where(predicates.toArray(new Predicate[0]));
+        return entityManager.createQuery(cq);
+    }
+
+    @Benchmark
+    public TypedQuery<Employee> cachedShape() {
+        TypedQuery<Employee> query = entityManager.createQuery(cachedJpql, Employee.class).setParameter("department", "Finance");
+        if (minSalary != null) {
+            query.setParameter("minSalary", minSalary).setParameter("maxSalary", maxSalary);
+        }
+        return query;
+    }
+
+    /**
+     * Builds the JPQL of the benchmarked shape the way EmployeeCriteriaBuilderImpl does.
+     */
+    private String buildShape() {
+        String jpql = "SELECT e FROM Employee e WHERE e.dept = :department";
+        if (minSalary != null) {
+            jpql += " AND e.salary >= :minSalary AND e.salary <= :maxSalary";
+        }
+        return jpql;
+    }
+}
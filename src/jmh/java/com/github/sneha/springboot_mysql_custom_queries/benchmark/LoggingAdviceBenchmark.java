@@ -0,0 +1,76 @@
+package com.github.sneha.springboot_mysql_custom_queries.benchmark;
+
+import com.github.sneha.springboot_mysql_custom_queries.advice.LogExecutionTime;
+import com.github.sneha.springboot_mysql_custom_queries.advice.LoggingAdvice;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the overhead LoggingAdvice adds to a method annotated with @LogExecutionTime:
+ * a direct call, a call through a Spring AOP proxy without the aspect, and a call through the aspect,
+ * which records the call in a timer with percentiles. slowCallThreshold selects whether every call
+ * counts as slow, exercising the sampled slow-call report, or none does.
+ *
+ * @author sneharavikumartl
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class LoggingAdviceBenchmark {
+
+    @Param({"PT1S", "PT0S"})
+    public String slowCallThreshold;
+
+    private Calculator direct;
+
+    private Calculator proxied;
+
+    private Calculator advised;
+
+    private int operand;
+
+    @Setup(Level.Trial)
+    public void createProxies() {
+        ch.qos.logback.classic.Logger logger = (ch.qos.logback.classic.Logger) org.slf4j.LoggerFactory.getLogger(LoggingAdvice.class);
+        logger.setAdditive(false);
+
+        direct = new Calculator();
+        proxied = new AspectJProxyFactory(new Calculator()).getProxy();
+        AspectJProxyFactory factory = new AspectJProxyFactory(new Calculator());
+        factory.addAspect(new LoggingAdvice(new SimpleMeterRegistry(), Duration.parse(slowCallThreshold), Duration.ofSeconds(1)));
+        advised = factory.getProxy();
+    }
+
+    @Benchmark
+    public long directCall() {
+        return direct.square(++operand);
+    }
+
+    @Benchmark
+    public long proxiedCall() {
+        return proxied.square(++operand);
+    }
+
+    @Benchmark
+    public long advisedCall() {
+        return advised.square(++operand);
+    }
+
+    /**
+     * Stand-in for an annotated service method.
+     */
+    public static class Calculator {
+
+        @LogExecutionTime
+        public long square(int value) {
+            return (long) value * value;
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.github.sneha.springboot_mysql_custom_queries.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Compares request handling on Tomcat's platform thread pool with virtual threads, under more concurrent
+ * clients (400) than Tomcat has request threads (200). Every request runs a filter query against the database.
+ * Throughput is reported in requests per millisecond; the sample time mode reports the latency percentiles, p0.99 included.
+ *
+ * Virtual threads need a Java 21 runtime; on older runtimes both modes run on platform threads.
+ * Run with ./gradlew jmh -Pjmh.includes=RequestThreadingBenchmark -Pjmh.javaVersion=21 to fork on a Java 21 toolchain.
+ * The difference shows with real database round trips, so run this against MySQL by exporting
+ * SPRING_DATASOURCE_URL, SPRING_DATASOURCE_USERNAME and SPRING_DATASOURCE_PASSWORD.
+ * Responses shed by the bulkhead (503) count as completed requests; their number is printed at the end of each trial.
+ *
+ * @author sneharavikumartl
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 10)
+@Measurement(iterations = 5, time = 10)
+@Fork(1)
+@Threads(400)
+public class RequestThreadingBenchmark {
+
+    private static final int EMPLOYEES = 10_000;
+
+    @Param({"platform", "virtual"})
+    private String threading;
+
+    private ConfigurableApplicationContext context;
+
+    private HttpClient client;
+
+    private HttpRequest request;
+
+    private final AtomicLong shedRequests = new AtomicLong();
+
+    @Setup(Level.Trial)
+    public void startApplication() {
+        context = BenchmarkApplication.startWeb("spring.threads.virtual.enabled=" + threading.equals("virtual"));
+        BenchmarkApplication.seed(context, EMPLOYEES);
+
+        client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        String port = context.getEnvironment().getProperty("local.server.port");
+        request = HttpRequest.newBuilder(URI.create("http://localhost:" + port
+                + "/employees/filterEmployeesPage?department=Finance&minSalary=50000&maxSalary=60000&pageSize=20")).build();
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        System.out.printf("%nRequests shed with 503: %d%n", shedRequests.get());
+        context.close();
+    }
+
+    @Benchmark
+    public int filterEmployeesPage() throws IOException, InterruptedException {
+        int status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+        if (status == 503) {
+            shedRequests.incrementAndGet();
+        } else if (status != 200) {
+            throw new IllegalStateException("Unexpected response status " + status);
+        }
+        return status;
+    }
+}
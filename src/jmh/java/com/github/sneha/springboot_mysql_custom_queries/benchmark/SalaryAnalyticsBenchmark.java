@@ -0,0 +1,112 @@
+package com.github.sneha.springboot_mysql_custom_queries.benchmark;
+
+import com.github.sneha.springboot_mysql_custom_queries.analytics.SalarySnapshot;
+import com.github.sneha.springboot_mysql_custom_queries.model.Employee;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jol.info.GraphLayout;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares salary analytics on the columnar SalarySnapshot with the same computations on a list of
+ * Employee entities, which is what answering them without the snapshot would take. Scores are
+ * reported in queries per second.
+ *
+ * The heap retained by the entity list and by the snapshot, measured with JOL, is printed once
+ * per trial before the warmup starts.
+ *
+ * @author sneharavikumartl
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class SalaryAnalyticsBenchmark {
+
+    private static final int BUCKETS = 50;
+
+    private static final double MIN_SALARY = 30_000;
+
+    private static final double MAX_SALARY = 200_000;
+
+    private static final double[] PERCENTILES = {10, 25, 50, 75, 90};
+
+    @Param({"100000", "1000000"})
+    private int employeeCount;
+
+    private List<Employee> employees;
+
+    private SalarySnapshot snapshot;
+
+    @Setup(Level.Trial)
+    public void generateEmployees() {
+        employees = new ArrayList<>(employeeCount);
+        SalarySnapshot.Builder builder = new SalarySnapshot.Builder();
+        for (int i = 0; i < employeeCount; i++) {
+            Employee employee = BenchmarkApplication.newEmployee();
+            employees.add(employee);
+            builder.add(employee.getDept(), employee.getSalary());
+        }
+        snapshot = builder.build(Instant.now());
+
+        long entityBytes = GraphLayout.parseInstance(employees).totalSize();
+        long snapshotBytes = GraphLayout.parseInstance(snapshot).totalSize();
+        System.out.printf("%nHeap for %d employees: entity list %,d bytes, snapshot %,d bytes (%.1fx smaller)%n",
+                employeeCount, entityBytes, snapshotBytes, (double) entityBytes / snapshotBytes);
+    }
+
+    @Benchmark
+    public long[] entityListHistogram() {
+        long[] counts = new long[BUCKETS];
+        double scale = BUCKETS / (MAX_SALARY - MIN_SALARY);
+        for (Employee employee : employees) {
+            double salary = employee.getSalary();
+            if (salary >= MIN_SALARY && salary <= MAX_SALARY) {
+                counts[Math.min((int) ((salary - MIN_SALARY) * scale), BUCKETS - 1)]++;
+            }
+        }
+        return counts;
+    }
+
+    @Benchmark
+    public long[] snapshotHistogram() {
+        return snapshot.histogram(-1, MIN_SALARY, MAX_SALARY, BUCKETS);
+    }
+
+    @Benchmark
+    public double[] entityListDepartmentPercentiles() {
+        double[] salaries = employees.stream()
+                .filter(employee -> employee.getDept().equalsIgnoreCase("Finance"))
+                .mapToDouble(Employee::getSalary)
+                .sorted()
+                .toArray();
+        double[] values = new double[PERCENTILES.length];
+        for (int i = 0; i < PERCENTILES.length; i++) {
+            values[i] = salaries[Math.max((int) Math.ceil(PERCENTILES[i] / 100 * salaries.length), 1) - 1];
+        }
+        return values;
+    }
+
+    @Benchmark
+    public double[] snapshotDepartmentPercentiles() {
+        return snapshot.percentiles(snapshot.departmentId("Finance").getAsInt(), PERCENTILES);
+    }
+
+    @Benchmark
+    public double[] snapshotOverallPercentiles() {
+        return snapshot.percentiles(-1, PERCENTILES);
+    }
+
+    @Benchmark
+    public double[] snapshotRaiseSimulation() {
+        double[] raisePercents = new double[snapshot.departments().length];
+        Arrays.fill(raisePercents, 3);
+        return snapshot.simulateRaise(raisePercents, Double.NaN, 190_000);
+    }
+}
@@ -0,0 +1,135 @@
+package com.github.sneha.springboot_mysql_custom_queries.loadtest;
+
+import com.github.sneha.springboot_mysql_custom_queries.utils.EmployeeIdGenerator;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Seeds the employees table for the load test and samples the seeded employees the load is driven with.
+ * Rows are written with plain JDBC batches, since going through the service would make seeding a million
+ * employees take longer than the load test itself. The application is started afresh after seeding,
+ * so that the in-memory indexes and counters are loaded from the seeded table as on a regular start.
+ *
+ * @author sneharavikumartl
+ */
+public class EmployeeSeeder {
+
+    private static final String[] DEPARTMENTS = {"Engineering", "Finance", "HR", "Marketing", "Operations", "Sales"};
+
+    private static final String INSERT_EMPLOYEE = "INSERT INTO employees (employee_id, employee_name, email, phone_number, address, salary, department) VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    private static final int BATCH_SIZE = 5_000;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final EmployeeIdGenerator idGenerator;
+
+    public EmployeeSeeder(JdbcTemplate jdbcTemplate, EmployeeIdGenerator idGenerator) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.idGenerator = idGenerator;
+    }
+
+    /**
+     * Inserts employees until the table holds at least the given number. Employees already present,
+     * e.g. from an earlier run against MySQL, are kept and counted.
+     *
+     * @param count the number of employees the table should hold
+     * @return the number of employees inserted
+     */
+    public long seed(long count) {
+        Long existing = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM employees", Long.class);
+        long next = existing == null ? 0 : existing;
+        long inserted = 0;
+        while (next < count) {
+            List<Object[]> batch = new ArrayList<>(BATCH_SIZE);
+            for (int i = 0; i < BATCH_SIZE && next < count; i++) {
+                batch.add(row(++next));
+            }
+            jdbcTemplate.batchUpdate(INSERT_EMPLOYEE, batch);
+            inserted += batch.size();
+        }
+        return inserted;
+    }
+
+    /**
+     * Reads the ids and emails of up to the given number of seeded employees.
+     *
+     * @param limit the maximum number of employees
+     * @return the sampled employees
+     */
+    public List<SeededEmployee> sample(int limit) {
+        return jdbcTemplate.query("SELECT employee_id, email FROM employees LIMIT ?",
+                (rs, rowNum) -> new SeededEmployee(uuid(rs.getBytes(1)), rs.getString(2)), limit);
+    }
+
+    /**
+     * The departments the seeded employees are spread over.
+     *
+     * @return the department names
+     */
+    public static String[] departments() {
+        return DEPARTMENTS.clone();
+    }
+
+    /**
+     * Creates the JSON body of a valid employee with the given email address, which has to be unique
+     * unless the employee is updated.
+     *
+     * @param email the email address
+     * @param n     the employee number, which determines all other fields
+     * @return the employee as JSON, without an employeeId
+     */
+    public static String employeeJson(String email, long n) {
+        return String.format("{\"employeeName\":\"Employee %d\",\"email\":\"%s\",\"phoneNumber\":\"%010d\",\"address\":\"%d Load Test Street\",\"salary\":%s,\"dept\":\"%s\"}",
+                n, email, n % 10_000_000_000L, n, salary(n), department(n));
+    }
+
+    private Object[] row(long n) {
+        return new Object[]{bytes(idGenerator.nextId()), "Employee " + n, "employee" + n + "@loadtest.example.com",
+                String.format("%010d", n % 10_000_000_000L), n + " Load Test Street", salary(n), department(n)};
+    }
+
+    private static double salary(long n) {
+        return 30_000 + (n * 7919) % 170_000d;
+    }
+
+    private static String department(long n) {
+        return DEPARTMENTS[(int) (n % DEPARTMENTS.length)];
+    }
+
+    private static byte[] bytes(UUID id) {
+        return ByteBuffer.allocate(16).putLong(id.getMostSignificantBits()).putLong(id.getLeastSignificantBits()).array();
+    }
+
+    private static UUID uuid(byte[] bytes) {
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        return new UUID(buffer.getLong(), buffer.getLong());
+    }
+
+    /**
+     * A seeded employee the load is driven with. The email is kept by updates, so that they do not violate its uniqueness.
+     */
+    public static final class SeededEmployee {
+
+        private final UUID employeeId;
+
+        private final String email;
+
+        SeededEmployee(UUID employeeId, String email) {
+            this.employeeId = employeeId;
+            this.email = email;
+        }
+
+        public UUID getEmployeeId() {
+            return employeeId;
+        }
+
+        public String getEmail() {
+            return email;
+        }
+    }
+}
@@ -0,0 +1,420 @@
+package com.github.sneha.springboot_mysql_custom_queries.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.sneha.springboot_mysql_custom_queries.SpringbootMySQLCustomQueriesDemoApplication;
+import com.github.sneha.springboot_mysql_custom_queries.loadtest.EmployeeSeeder.SeededEmployee;
+import com.github.sneha.springboot_mysql_custom_queries.utils.EmployeeIdGenerator;
+import jakarta.persistence.EntityManagerFactory;
+import org.HdrHistogram.Histogram;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Locale;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+
+/**
+ * Load test for the EmployeeController and AdminController endpoints.
+ *
+ * Seeds the database with employees, starts the application on a random port and drives every endpoint
+ * in turn from a fixed number of client threads, each sending its next request as soon as the previous
+ * one has completed. For every endpoint it reports throughput, the p50/p99/p999 latencies and the number
+ * of SQL statements executed per request, and writes them to a CSV file. It exits with status 1 when an
+ * endpoint exceeds the configured error rate or p99 latency, which fails the Gradle loadTest task.
+ *
+ * Latencies are measured with a closed loop, so queueing in front of a saturated endpoint shows up as
+ * lower throughput rather than as higher latency.
+ *
+ * Settings are read from system properties, which the Gradle task fills from -PloadTest.* project properties:
+ * <ul>
+ *     <li>loadTest.employees - employees to seed, default 1000000</li>
+ *     <li>loadTest.concurrency - client threads per endpoint, default 32</li>
+ *     <li>loadTest.bulkConcurrency - client threads for endpoints that return all employees, default 1</li>
+ *     <li>loadTest.warmup - ISO-8601 warmup per endpoint, default PT5S</li>
+ *     <li>loadTest.duration - ISO-8601 measurement per endpoint, default PT30S</li>
+ *     <li>loadTest.endpoints - regular expression selecting endpoints by name, default all</li>
+ *     <li>loadTest.maxErrorRate - highest tolerated fraction of failed requests, default 0</li>
+ *     <li>loadTest.maxP99Millis - highest tolerated p99 latency, default unlimited</li>
+ *     <li>loadTest.reportDir - directory the results.csv is written to, default build/reports/loadTest</li>
+ * </ul>
+ *
+ * @author sneharavikumartl
+ */
+public final class LoadTestRunner {
+
+    /**
+     * Seeded employees the reads and updates are spread over. Larger than the employees cache,
+     * so that lookups by id are not all cache hits.
+     */
+    private static final int SAMPLE_SIZE = 100_000;
+
+    private static final int EMPLOYEES_PER_BULK_CREATE = 100;
+
+    private static final int EMPLOYEES_PER_BULK_DELETE = 100;
+
+    private static final long HIGHEST_LATENCY_MICROS = Duration.ofMinutes(10).toNanos() / 1000;
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofMinutes(5);
+
+    private final long employees = Long.getLong("loadTest.employees", 1_000_000);
+
+    private final int concurrency = Integer.getInteger("loadTest.concurrency", 32);
+
+    private final int bulkConcurrency = Integer.getInteger("loadTest.bulkConcurrency", 1);
+
+    private final Duration warmup = Duration.parse(System.getProperty("loadTest.warmup", "PT5S"));
+
+    private final Duration duration = Duration.parse(System.getProperty("loadTest.duration", "PT30S"));
+
+    private final Pattern endpoints = Pattern.compile(System.getProperty("loadTest.endpoints", ".*"));
+
+    private final double maxErrorRate = Double.parseDouble(System.getProperty("loadTest.maxErrorRate", "0"));
+
+    private final double maxP99Millis = Double.parseDouble(System.getProperty("loadTest.maxP99Millis", "Infinity"));
+
+    private final Path reportDir = Path.of(System.getProperty("loadTest.reportDir", "build/reports/loadTest"));
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(10))
+            .build();
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private URI baseUri;
+
+    private String adminAuthorization;
+
+    private LoadTestRunner() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        System.exit(new LoadTestRunner().run());
+    }
+
+    private int run() throws Exception {
+        List<SeededEmployee> sample;
+        try (ConfigurableApplicationContext context = start(WebApplicationType.NONE)) {
+            EmployeeSeeder seeder = new EmployeeSeeder(context.getBean(JdbcTemplate.class), context.getBean(EmployeeIdGenerator.class));
+            long start = System.nanoTime();
+            long inserted = seeder.seed(employees);
+            System.out.printf("Seeded %d employees in %d s%n", inserted, Duration.ofNanos(System.nanoTime() - start).toSeconds());
+            sample = seeder.sample(SAMPLE_SIZE);
+        }
+
+        List<ScenarioResult> results = new ArrayList<>();
+        try (ConfigurableApplicationContext context = start(WebApplicationType.SERVLET)) {
+            Environment environment = context.getEnvironment();
+            baseUri = URI.create("http://localhost:" + environment.getProperty("local.server.port"));
+            String credentials = environment.getProperty("spring.security.admin.name") + ":" + environment.getProperty("spring.security.admin.password");
+            adminAuthorization = "Basic " + Base64.getEncoder().encodeToString(credentials.getBytes(StandardCharsets.UTF_8));
+            Statistics statistics = context.getBean(EntityManagerFactory.class).unwrap(SessionFactory.class).getStatistics();
+
+            System.out.printf("%-28s %5s %9s %7s %10s %9s %9s %9s %9s%n",
+                    "endpoint", "conc", "requests", "errors", "req/s", "p50 ms", "p99 ms", "p999 ms", "queries");
+            for (Scenario scenario : scenarios(sample)) {
+                if (endpoints.matcher(scenario.getName()).matches()) {
+                    ScenarioResult result = run(scenario, statistics);
+                    System.out.println(result);
+                    results.add(result);
+                }
+            }
+        }
+
+        writeReport(results);
+        return passes(results) ? 0 : 1;
+    }
+
+    private ConfigurableApplicationContext start(WebApplicationType webApplicationType) {
+        return new SpringApplicationBuilder(SpringbootMySQLCustomQueriesDemoApplication.class)
+                .profiles("loadtest")
+                .web(webApplicationType)
+                .run();
+    }
+
+    /**
+     * Defines the load for every endpoint, in the order they are run. Employees created by the
+     * add scenarios are the ones deleted by the delete scenario, so that the seeded employees stay intact.
+     * They are also the ones patched, each once at its initial version, so that no patch is rejected as a conflict.
+     */
+    private List<Scenario> scenarios(List<SeededEmployee> sample) {
+        String[] departments = EmployeeSeeder.departments();
+        Queue<String> created = new ConcurrentLinkedQueue<>();
+        Queue<String> unpatched = new ConcurrentLinkedQueue<>();
+        AtomicLong sequence = new AtomicLong();
+        AtomicReference<String> namesCursor = new AtomicReference<>();
+        AtomicReference<String> detailsCursor = new AtomicReference<>();
+
+        List<Scenario> scenarios = new ArrayList<>();
+        scenarios.add(Scenario.of("addEmployee", () -> post("/employees/addEmployee", newEmployeeJson(sequence.incrementAndGet())))
+                .onResponse(body -> {
+                    String employeeId = readTree(body).get("employeeId").asText();
+                    created.add(employeeId);
+                    unpatched.add(employeeId);
+                }));
+        scenarios.add(Scenario.of("addEmployees", () -> {
+            List<String> batch = new ArrayList<>();
+            for (int i = 0; i < EMPLOYEES_PER_BULK_CREATE; i++) {
+                batch.add(newEmployeeJson(sequence.incrementAndGet()));
+            }
+            return post("/employees/addEmployees", "[" + String.join(",", batch) + "]");
+        }).onResponse(body -> readTree(body).forEach(employee -> {
+            created.add(employee.get("employeeId").asText());
+            unpatched.add(employee.get("employeeId").asText());
+        })));
+        scenarios.add(Scenario.of("getEmployee", () -> get("/employees/getEmployee/" + random(sample).getEmployeeId())));
+        scenarios.add(Scenario.of("updateEmployee", () -> {
+            SeededEmployee employee = random(sample);
+            return post("/employees/updateEmployee/" + employee.getEmployeeId(),
+                    EmployeeSeeder.employeeJson(employee.getEmail(), ThreadLocalRandom.current().nextInt(1_000_000)));
+        }));
+        scenarios.add(Scenario.of("patchEmployee", () -> {
+            String employeeId = unpatched.poll();
+            return employeeId == null ? null : request("/employees/" + employeeId)
+                    .header("Content-Type", "application/json")
+                    .method("PATCH", HttpRequest.BodyPublishers.ofString(
+                            "{\"version\":0,\"salary\":" + ThreadLocalRandom.current().nextInt(30_000, 200_000) + "}"))
+                    .build();
+        }));
+        scenarios.add(Scenario.bulk("getAllEmployees", () -> get("/employees/getAllEmployees")));
+        scenarios.add(Scenario.of("getAllEmployeesPage", () -> get(page("/employees/getAllEmployeesPage?", namesCursor.get())))
+                .onResponse(body -> namesCursor.set(nextCursor(body))));
+        scenarios.add(Scenario.bulk("getAllEmployeeDetails", () -> get("/employees/getAllEmployeeDetails")));
+        scenarios.add(Scenario.of("getAllEmployeeDetailsPage", () -> get(page("/employees/getAllEmployeeDetailsPage?", detailsCursor.get())))
+                .onResponse(body -> detailsCursor.set(nextCursor(body))));
+        scenarios.add(Scenario.bulk("stream", () -> request("/employees/stream").header("Accept", "application/x-ndjson").build()));
+        scenarios.add(Scenario.of("getTotalEmployeeCount", () -> get("/employees/getTotalEmployeeCount")));
+        scenarios.add(Scenario.of("getEmployeeCountFromDept", () -> get("/employees/getEmployeeCountFromDept/" + random(departments))));
+        scenarios.add(Scenario.bulk("getEmployeesFromDept", () -> get("/employees/getEmployeesFromDept/" + random(departments))));
+        scenarios.add(Scenario.of("searchEmployees", () -> get("/employees/search?" + search(departments))));
+        scenarios.add(Scenario.of("filterEmployees", () -> get("/employees/filterEmployees?" + filter(departments))));
+        scenarios.add(Scenario.of("filterEmployeesPage", () -> get("/employees/filterEmployeesPage?" + filter(departments))));
+        scenarios.add(Scenario.of("getSalaryStats", () -> get("/employees/stats/salary")));
+        scenarios.add(Scenario.of("deleteEmployees", () -> {
+            List<String> batch = new ArrayList<>();
+            String employeeId;
+            while (batch.size() < EMPLOYEES_PER_BULK_DELETE && (employeeId = created.poll()) != null) {
+                batch.add("\"" + employeeId + "\"");
+            }
+            return batch.isEmpty() ? null : request("/admin/deleteEmployees")
+                    .header("Authorization", adminAuthorization)
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString("[" + String.join(",", batch) + "]"))
+                    .build();
+        }));
+        scenarios.add(Scenario.of("deleteEmployee", () -> {
+            String employeeId = created.poll();
+            return employeeId == null ? null : request("/admin/deleteEmployee/" + employeeId)
+                    .header("Authorization", adminAuthorization)
+                    .DELETE()
+                    .build();
+        }));
+        return scenarios;
+    }
+
+    /**
+     * Warms the endpoint up, then measures it for the configured duration.
+     */
+    private ScenarioResult run(Scenario scenario, Statistics statistics) throws InterruptedException, ExecutionException {
+        int threads = scenario.isBulk() ? bulkConcurrency : concurrency;
+        drive(scenario, threads, warmup, new Histogram(HIGHEST_LATENCY_MICROS, 3), new LongAdder());
+
+        Histogram latencies = new Histogram(HIGHEST_LATENCY_MICROS, 3);
+        LongAdder errors = new LongAdder();
+        long statementsBefore = statistics.getPrepareStatementCount();
+        long elapsedNanos = drive(scenario, threads, duration, latencies, errors);
+        long statements = statistics.getPrepareStatementCount() - statementsBefore;
+        return new ScenarioResult(scenario.getName(), threads, latencies, errors.sum(), elapsedNanos, statements);
+    }
+
+    /**
+     * Sends requests from the given number of threads until the duration has passed or the scenario has run out of work.
+     *
+     * @return the elapsed time in nanoseconds, until the last response was received
+     */
+    private long drive(Scenario scenario, int threads, Duration duration, Histogram latencies, LongAdder errors)
+            throws InterruptedException, ExecutionException {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        AtomicBoolean failureReported = new AtomicBoolean();
+        long start = System.nanoTime();
+        long deadline = start + duration.toNanos();
+        try {
+            List<Future<Histogram>> workers = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                workers.add(executor.submit(() -> {
+                    Histogram histogram = new Histogram(HIGHEST_LATENCY_MICROS, 3);
+                    HttpRequest request;
+                    while (System.nanoTime() < deadline && (request = scenario.nextRequest()) != null) {
+                        long sent = System.nanoTime();
+                        String failure = send(scenario, request);
+                        histogram.recordValue(Math.min((System.nanoTime() - sent) / 1000, HIGHEST_LATENCY_MICROS));
+                        if (failure != null) {
+                            errors.increment();
+                            if (failureReported.compareAndSet(false, true)) {
+                                System.err.printf("%s: %s %s failed with %s%n", scenario.getName(), request.method(), request.uri(), failure);
+                            }
+                        }
+                    }
+                    return histogram;
+                }));
+            }
+            for (Future<Histogram> worker : workers) {
+                latencies.add(worker.get());
+            }
+            return System.nanoTime() - start;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Sends a request and hands a successful response to the scenario.
+     *
+     * @return null if the request succeeded, otherwise a description of the failure
+     */
+    private String send(Scenario scenario, HttpRequest request) {
+        try {
+            if (scenario.getResponseHandler() == null) {
+                HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                return response.statusCode() / 100 == 2 ? null : "status " + response.statusCode();
+            }
+            HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() / 100 != 2) {
+                return "status " + response.statusCode() + ": " + response.body();
+            }
+            scenario.getResponseHandler().accept(response.body());
+            return null;
+        } catch (IOException | RuntimeException e) {
+            return e.toString();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return e.toString();
+        }
+    }
+
+    private HttpRequest.Builder request(String path) {
+        return HttpRequest.newBuilder(baseUri.resolve(path)).timeout(REQUEST_TIMEOUT);
+    }
+
+    private HttpRequest get(String path) {
+        return request(path).header("Accept", "application/json").build();
+    }
+
+    private HttpRequest post(String path, String json) {
+        return request(path)
+                .header("Accept", "application/json")
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json))
+                .build();
+    }
+
+    private static String newEmployeeJson(long n) {
+        return EmployeeSeeder.employeeJson("added" + n + "@loadtest.example.com", n);
+    }
+
+    /**
+     * Requests the page after the given cursor, so that the client threads walk through all pages together.
+     */
+    private static String page(String path, String cursor) {
+        return cursor == null ? path : path + "cursor=" + URLEncoder.encode(cursor, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Filters a random department by a salary range holding about one in 170 of its employees.
+     */
+    /**
+     * A type-ahead search for "Employee " followed by one to three digits, in half of the requests
+     * within a department.
+     */
+    private static String search(String[] departments) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        String prefix = "Employee " + random.nextInt((int) Math.pow(10, random.nextInt(1, 4)));
+        String query = "prefix=" + URLEncoder.encode(prefix, StandardCharsets.UTF_8);
+        return random.nextBoolean() ? query : query + "&department=" + random(departments);
+    }
+
+    private static String filter(String[] departments) {
+        int minSalary = 30_000 + ThreadLocalRandom.current().nextInt(169_000);
+        return "department=" + random(departments) + "&minSalary=" + minSalary + "&maxSalary=" + (minSalary + 1_000);
+    }
+
+    private String nextCursor(String body) {
+        JsonNode nextCursor = readTree(body).get("nextCursor");
+        return nextCursor == null || nextCursor.isNull() ? null : nextCursor.asText();
+    }
+
+    private JsonNode readTree(String body) {
+        try {
+            return objectMapper.readTree(body);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static <T> T random(List<T> values) {
+        return values.get(ThreadLocalRandom.current().nextInt(values.size()));
+    }
+
+    private static <T> T random(T[] values) {
+        return values[ThreadLocalRandom.current().nextInt(values.length)];
+    }
+
+    private void writeReport(List<ScenarioResult> results) throws IOException {
+        Files.createDirectories(reportDir);
+        Path report = reportDir.resolve("results.csv");
+        try (PrintWriter writer = new PrintWriter(Files.newBufferedWriter(report))) {
+            writer.println(ScenarioResult.CSV_HEADER);
+            results.forEach(result -> writer.println(result.toCsv()));
+        }
+        System.out.println("Results written to " + report.toAbsolutePath());
+    }
+
+    /**
+     * Checks every result against the configured error rate and p99 latency.
+     */
+    private boolean passes(List<ScenarioResult> results) {
+        boolean passed = true;
+        for (ScenarioResult result : results) {
+            if (result.getErrorRate() > maxErrorRate) {
+                System.err.printf(Locale.ROOT, "%s: error rate %.4f exceeds %.4f%n", result.getName(), result.getErrorRate(), maxErrorRate);
+                passed = false;
+            }
+            if (result.latencyMillis(99) > maxP99Millis) {
+                System.err.printf(Locale.ROOT, "%s: p99 latency %.2f ms exceeds %.2f ms%n", result.getName(), result.latencyMillis(99), maxP99Millis);
+                passed = false;
+            }
+        }
+        return passed;
+    }
+}
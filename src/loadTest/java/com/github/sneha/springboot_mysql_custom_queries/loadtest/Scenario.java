@@ -0,0 +1,77 @@
+package com.github.sneha.springboot_mysql_custom_queries.loadtest;
+
+import java.net.http.HttpRequest;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * One endpoint under load: how to create its requests and what to do with its responses.
+ *
+ * @author sneharavikumartl
+ */
+public class Scenario {
+
+    private final String name;
+
+    private final boolean bulk;
+
+    private final Supplier<HttpRequest> requests;
+
+    private Consumer<String> responseHandler;
+
+    private Scenario(String name, boolean bulk, Supplier<HttpRequest> requests) {
+        this.name = name;
+        this.bulk = bulk;
+        this.requests = requests;
+    }
+
+    /**
+     * Creates a scenario for an endpoint that is driven at the full concurrency.
+     *
+     * @param name     the name the results are reported under
+     * @param requests creates the next request, or returns null when the scenario has run out of work
+     * @return the scenario
+     */
+    public static Scenario of(String name, Supplier<HttpRequest> requests) {
+        return new Scenario(name, false, requests);
+    }
+
+    /**
+     * Creates a scenario for an endpoint that returns all employees, or a whole department of them.
+     * Those are driven at the bulk concurrency, so that the responses in flight fit into the heap.
+     *
+     * @param name     the name the results are reported under
+     * @param requests creates the next request
+     * @return the scenario
+     */
+    public static Scenario bulk(String name, Supplier<HttpRequest> requests) {
+        return new Scenario(name, true, requests);
+    }
+
+    /**
+     * Hands the bodies of successful responses to the given handler. Without one, bodies are discarded unread.
+     *
+     * @param responseHandler receives the response body
+     * @return this scenario
+     */
+    public Scenario onResponse(Consumer<String> responseHandler) {
+        this.responseHandler = responseHandler;
+        return this;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public boolean isBulk() {
+        return bulk;
+    }
+
+    public HttpRequest nextRequest() {
+        return requests.get();
+    }
+
+    public Consumer<String> getResponseHandler() {
+        return responseHandler;
+    }
+}
@@ -0,0 +1,86 @@
+package com.github.sneha.springboot_mysql_custom_queries.loadtest;
+
+import org.HdrHistogram.Histogram;
+
+import java.util.Locale;
+
+/**
+ * The measurements of one scenario: latencies in microseconds, request and error counts,
+ * and the number of SQL statements the application executed meanwhile.
+ *
+ * @author sneharavikumartl
+ */
+public class ScenarioResult {
+
+    static final String CSV_HEADER = "endpoint,concurrency,requests,errors,throughput_rps,p50_ms,p99_ms,p999_ms,max_ms,queries_per_request";
+
+    private final String name;
+
+    private final int concurrency;
+
+    private final Histogram latencies;
+
+    private final long errors;
+
+    private final long elapsedNanos;
+
+    private final long statements;
+
+    public ScenarioResult(String name, int concurrency, Histogram latencies, long errors, long elapsedNanos, long statements) {
+        this.name = name;
+        this.concurrency = concurrency;
+        this.latencies = latencies;
+        this.errors = errors;
+        this.elapsedNanos = elapsedNanos;
+        this.statements = statements;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long getRequests() {
+        return latencies.getTotalCount();
+    }
+
+    public long getErrors() {
+        return errors;
+    }
+
+    public double getErrorRate() {
+        return getRequests() == 0 ? 0 : (double) errors / getRequests();
+    }
+
+    public double getThroughput() {
+        return getRequests() * 1e9 / elapsedNanos;
+    }
+
+    public double getQueriesPerRequest() {
+        return getRequests() == 0 ? 0 : (double) statements / getRequests();
+    }
+
+    /**
+     * The latency at a percentile.
+     *
+     * @param percentile the percentile, between 0 and 100
+     * @return the latency in milliseconds
+     */
+    public double latencyMillis(double percentile) {
+        return latencies.getValueAtPercentile(percentile) / 1000d;
+    }
+
+    public double maxLatencyMillis() {
+        return latencies.getMaxValue() / 1000d;
+    }
+
+    String toCsv() {
+        return String.format(Locale.ROOT, "%s,%d,%d,%d,%.1f,%.3f,%.3f,%.3f,%.3f,%.2f", name, concurrency, getRequests(), errors,
+                getThroughput(), latencyMillis(50), latencyMillis(99), latencyMillis(99.9), maxLatencyMillis(), getQueriesPerRequest());
+    }
+
+    @Override
+    public String toString() {
+        return String.format(Locale.ROOT, "%-28s %5d %9d %7d %10.1f %9.2f %9.2f %9.2f %9.2f", name, concurrency, getRequests(), errors,
+                getThroughput(), latencyMillis(50), latencyMillis(99), latencyMillis(99.9), getQueriesPerRequest());
+    }
+}
@@ -0,0 +1,34 @@
+package com.github.sneha.springboot_mysql_custom_queries.advice;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Aspect applying the LoggingAdvice timers to every service and repository method, as if they were
+ * annotated with @LogExecutionTime. Enabled with employee.timing.auto-instrument; methods that are
+ * annotated already are left to the LoggingAdvice, so that they are not timed twice.
+ *
+ * @author sneharavikumartl
+ */
+@Aspect
+@Component
+@ConditionalOnProperty(name = "employee.timing.auto-instrument", havingValue = "true")
+public class AutoTimingAdvice {
+
+    private final LoggingAdvice loggingAdvice;
+
+    public AutoTimingAdvice(LoggingAdvice loggingAdvice) {
+        this.loggingAdvice = loggingAdvice;
+    }
+
+    @Around("(within(com.github.sneha.springboot_mysql_custom_queries.service..*)"
+            + " || within(com.github.sneha.springboot_mysql_custom_queries.repository..*)"
+            + " || this(org.springframework.data.repository.Repository))"
+            + " && !@annotation(LogExecutionTime) && !@within(LogExecutionTime)")
+    public Object timeExecution(ProceedingJoinPoint joinPoint) throws Throwable {
+        return loggingAdvice.logExecutionTime(joinPoint);
+    }
+}
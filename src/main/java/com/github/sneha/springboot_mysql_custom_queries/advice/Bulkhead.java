@@ -0,0 +1,22 @@
+package com.github.sneha.springboot_mysql_custom_queries.advice;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Custom annotation to limit how many calls to the annotated methods, or to all methods of the
+ * annotated class, run at the same time. Applied to the service methods that use a database connection,
+ * so that concurrent callers queue for a permit instead of for a pooled connection. Methods answered
+ * from the in-memory indexes are not annotated; they only query the database while the indexes load.
+ *
+ * Usage:
+ * - Apply "@Bulkhead" annotation to a method or class. The limit is enforced by BulkheadAdvice when employee.bulkhead.enabled is set.
+ *
+ * @author sneharavikumartl
+ */
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Bulkhead {
+}
@@ -0,0 +1,90 @@
+package com.github.sneha.springboot_mysql_custom_queries.advice;
+
+import com.github.sneha.springboot_mysql_custom_queries.exception.ServiceOverloadedException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Aspect enforcing a semaphore bulkhead around methods annotated with @Bulkhead.
+ *
+ * With virtual threads there is no request thread pool left to cap concurrency, so every request
+ * would otherwise wait for one of the pooled connections, up to the Hikari connection timeout.
+ * The bulkhead admits as many calls as there are connections and sheds the rest with a
+ * ServiceOverloadedException (503 with Retry-After) after a short wait.
+ *
+ * The MySQL driver blocks on socket reads inside synchronized blocks, which pins the virtual thread to its
+ * carrier thread. The bulkhead also bounds the number of carriers pinned that way; a warning is logged
+ * when it would allow all carriers to be pinned at once.
+ *
+ * Nested calls on the same thread run under the permit of the outermost call.
+ *
+ * @author sneharavikumartl
+ */
+@Aspect
+@Component
+@ConditionalOnProperty(name = "employee.bulkhead.enabled", havingValue = "true")
+@Slf4j
+public class BulkheadAdvice {
+
+    private static final ThreadLocal<Boolean> HOLDS_PERMIT = new ThreadLocal<>();
+
+    private final Semaphore permits;
+
+    private final long maxWaitNanos;
+
+    private final long retryAfterSeconds;
+
+    private final Counter rejected;
+
+    public BulkheadAdvice(@Value("${employee.bulkhead.max-concurrent-calls}") int maxConcurrentCalls,
+                          @Value("${employee.bulkhead.max-wait}") Duration maxWait,
+                          @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads,
+                          MeterRegistry meterRegistry) {
+        this.permits = new Semaphore(maxConcurrentCalls, true);
+        this.maxWaitNanos = maxWait.toNanos();
+        this.retryAfterSeconds = Math.max(1, maxWait.toSeconds());
+        this.rejected = Counter.builder("employee.bulkhead.rejected")
+                .description("Calls shed because no bulkhead permit became available in time")
+                .register(meterRegistry);
+        Gauge.builder("employee.bulkhead.available", permits, Semaphore::availablePermits)
+                .description("Bulkhead permits currently available")
+                .register(meterRegistry);
+
+        int carriers = Integer.getInteger("jdk.virtualThreadScheduler.parallelism", Runtime.getRuntime().availableProcessors());
+        if (virtualThreads && maxConcurrentCalls >= carriers) {
+            log.warn("Bulkhead admits {} concurrent database calls, but there are only {} virtual thread carriers. "
+                    + "Calls pinned in the JDBC driver can occupy all carriers; set -Djdk.virtualThreadScheduler.parallelism above {}",
+                    maxConcurrentCalls, carriers, maxConcurrentCalls);
+        }
+    }
+
+    @Around("@within(Bulkhead) || @annotation(Bulkhead)")
+    public Object limitConcurrency(ProceedingJoinPoint joinPoint) throws Throwable {
+        if (HOLDS_PERMIT.get() != null) {
+            return joinPoint.proceed();
+        }
+        if (!permits.tryAcquire(maxWaitNanos, TimeUnit.NANOSECONDS)) {
+            rejected.increment();
+            throw new ServiceOverloadedException("Too many concurrent requests, rejected " + joinPoint.getSignature().toShortString(), retryAfterSeconds);
+        }
+        HOLDS_PERMIT.set(Boolean.TRUE);
+        try {
+            return joinPoint.proceed();
+        } finally {
+            HOLDS_PERMIT.remove();
+            permits.release();
+        }
+    }
+}
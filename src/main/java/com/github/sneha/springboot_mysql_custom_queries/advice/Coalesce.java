@@ -0,0 +1,21 @@
+package com.github.sneha.springboot_mysql_custom_queries.advice;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Custom annotation to let concurrent calls of the annotated method with equal arguments share one execution.
+ * Meant for read methods whose queries are often issued by many requests at once, such as a popular department.
+ *
+ * Usage:
+ * - Apply "@Coalesce" annotation to a method. Calls are coalesced by CoalescingAdvice when employee.coalescing.enabled is set.
+ * - Callers that join a running call get the same result instance, so the result must not be modified.
+ *
+ * @author sneharavikumartl
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Coalesce {
+}
@@ -0,0 +1,171 @@
+package com.github.sneha.springboot_mysql_custom_queries.advice;
+
+import com.github.sneha.springboot_mysql_custom_queries.event.EmployeeChangedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.util.ClassUtils;
+
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Aspect coalescing concurrent calls of methods annotated with @Coalesce (single flight).
+ *
+ * The first call with a given method and arguments runs; calls with equal arguments arriving while it
+ * runs wait for it and return its result or rethrow its exception, so a burst of identical requests
+ * issues one database query. A caller waits at most max-wait and then runs the method itself.
+ *
+ * It runs before the other aspects, so joined calls neither take a bulkhead permit nor count as a
+ * method execution. Running calls are forgotten whenever an employee changes, so a call that starts
+ * after a committed change never gets the result of a query that may have missed it.
+ *
+ * @author sneharavikumartl
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@ConditionalOnProperty(name = "employee.coalescing.enabled", havingValue = "true")
+public class CoalescingAdvice {
+
+    private final MeterRegistry meterRegistry;
+
+    private final long maxWaitNanos;
+
+    private final Map<Call, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+
+    private final Map<Method, MethodCounters> counters = new ConcurrentHashMap<>();
+
+    public CoalescingAdvice(@Value("${employee.coalescing.max-wait}") Duration maxWait,
+                            MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        this.maxWaitNanos = maxWait.toNanos();
+        Gauge.builder("employee.coalescing.in-flight", inFlight, Map::size)
+                .description("Coalesced calls currently running")
+                .register(meterRegistry);
+    }
+
+    @Around("@annotation(Coalesce)")
+    public Object coalesce(ProceedingJoinPoint joinPoint) throws Throwable {
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        MethodCounters methodCounters = counters(joinPoint, method);
+        Call call = new Call(method, joinPoint.getArgs());
+        CompletableFuture<Object> flight = new CompletableFuture<>();
+        CompletableFuture<Object> running = inFlight.putIfAbsent(call, flight);
+        if (running != null) {
+            return join(joinPoint, running, methodCounters);
+        }
+        methodCounters.executed.increment();
+        try {
+            Object result = joinPoint.proceed();
+            flight.complete(result);
+            return result;
+        } catch (Throwable e) {
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(call, flight);
+        }
+    }
+
+    /**
+     * Forgets the running calls, so that later calls query again instead of joining them.
+     *
+     * @param event the committed change
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEmployeeChanged(EmployeeChangedEvent event) {
+        inFlight.clear();
+    }
+
+    private Object join(ProceedingJoinPoint joinPoint, CompletableFuture<Object> running, MethodCounters methodCounters) throws Throwable {
+        try {
+            Object result = running.get(maxWaitNanos, TimeUnit.NANOSECONDS);
+            methodCounters.joined.increment();
+            return result;
+        } catch (ExecutionException e) {
+            methodCounters.joined.increment();
+            throw e.getCause();
+        } catch (TimeoutException e) {
+            methodCounters.timedOut.increment();
+            return joinPoint.proceed();
+        }
+    }
+
+    private MethodCounters counters(ProceedingJoinPoint joinPoint, Method method) {
+        MethodCounters methodCounters = counters.get(method);
+        if (methodCounters == null) {
+            String name = ClassUtils.getUserClass(joinPoint.getTarget()).getSimpleName() + "." + method.getName();
+            methodCounters = counters.computeIfAbsent(method, m -> new MethodCounters(name));
+        }
+        return methodCounters;
+    }
+
+    /**
+     * A method and its arguments, compared by value.
+     */
+    private static final class Call {
+
+        private final Method method;
+
+        private final Object[] args;
+
+        private final int hash;
+
+        Call(Method method, Object[] args) {
+            this.method = method;
+            this.args = args;
+            this.hash = 31 * method.hashCode() + Arrays.hashCode(args);
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof Call call && method.equals(call.method) && Arrays.equals(args, call.args);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    private final class MethodCounters {
+
+        private final Counter executed;
+
+        private final Counter joined;
+
+        private final Counter timedOut;
+
+        MethodCounters(String method) {
+            this.executed = counter(method, "executed");
+            this.joined = counter(method, "joined");
+            this.timedOut = counter(method, "timed-out");
+        }
+
+        private Counter counter(String method, String outcome) {
+            return Counter.builder("employee.coalescing.calls")
+                    .description("Calls of coalesced methods by whether they ran, joined a running call, or ran after waiting too long")
+                    .tag("method", method)
+                    .tag("outcome", outcome)
+                    .register(meterRegistry);
+        }
+    }
+}
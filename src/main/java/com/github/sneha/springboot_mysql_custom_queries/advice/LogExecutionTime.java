@@ -7,12 +7,13 @@ import java.lang.annotation.Target;
 
 
 /**
- * Custom annotation to log the execution time of methods or classes.
+ * Custom annotation to time the execution of methods or classes.
  * Can be applied to methods or entire classes to track the duration
  * of their execution.
  *
  * Usage:
- * - Apply "@LogExecutionTime" annotation to a method or class to measure and log execution time.
+ * - Apply "@LogExecutionTime" annotation to a method or class to measure its execution time.
+ * - The times are published as the employee.method.execution timer; slow calls are also logged.
  *
  * @author sneharavikumartl
  */
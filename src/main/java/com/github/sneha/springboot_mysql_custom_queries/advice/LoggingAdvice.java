@@ -1,18 +1,35 @@
 package com.github.sneha.springboot_mysql_custom_queries.advice;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.aop.framework.AopProxyUtils;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
- * Aspect for logging the execution time of methods annotated with @LogExecutionTime.
- * This class uses Aspect-Oriented Programming (AOP) to intercept method calls,
- * measure their execution time, and log the results.
+ * Aspect for timing methods annotated with @LogExecutionTime, or declared in a class annotated with it.
+ * This class uses Aspect-Oriented Programming (AOP) to intercept method calls and
+ * measure their execution time with nanosecond precision.
  *
- * It uses the @Around advice to wrap the method execution, calculating the time
- * taken to execute the method and logging the metric.
+ * Every method gets an employee.method.execution timer tagged with its class and method name,
+ * publishing p50/p99/p999 and a percentile histogram on the actuator metrics endpoint.
+ * Calls slower than the slow-call threshold are reported in the log, sampled to at most one report
+ * per method and interval, which also tells how many slow calls were not reported.
  *
  * @author sneharavikumartl
  */
@@ -22,12 +39,99 @@ import org.springframework.stereotype.Component;
 @Slf4j
 public class LoggingAdvice {
 
-    @Around("@annotation(LogExecutionTime)")
+    static final String TIMER_NAME = "employee.method.execution";
+
+    private final MeterRegistry meterRegistry;
+
+    private final long slowCallThresholdNanos;
+
+    private final long slowCallReportIntervalNanos;
+
+    /**
+     * Timers by proxy class and method. Looked up without allocating on every call.
+     */
+    private final Map<Class<?>, Map<Method, MethodTimer>> timers = new ConcurrentHashMap<>();
+
+    public LoggingAdvice(MeterRegistry meterRegistry,
+                         @Value("${employee.timing.slow-call-threshold}") Duration slowCallThreshold,
+                         @Value("${employee.timing.slow-call-report-interval}") Duration slowCallReportInterval) {
+        this.meterRegistry = meterRegistry;
+        this.slowCallThresholdNanos = slowCallThreshold.toNanos();
+        this.slowCallReportIntervalNanos = slowCallReportInterval.toNanos();
+    }
+
+    @Around("@annotation(LogExecutionTime) || @within(LogExecutionTime)")
     public Object logExecutionTime(ProceedingJoinPoint joinPoint) throws Throwable {
-        long start = System.currentTimeMillis();
-        Object proceed = joinPoint.proceed();
-        long executionTime = System.currentTimeMillis() - start;
-        log.info("[Execution Time Metric] - Method - {}  Execution time - {} ms", joinPoint.getSignature(), executionTime);
-        return proceed;
+        MethodTimer methodTimer = timer(joinPoint);
+        long start = System.nanoTime();
+        try {
+            return joinPoint.proceed();
+        } finally {
+            long executionTime = System.nanoTime() - start;
+            methodTimer.timer.record(executionTime, TimeUnit.NANOSECONDS);
+            if (executionTime > slowCallThresholdNanos) {
+                reportSlowCall(methodTimer, executionTime);
+            }
+        }
+    }
+
+    private MethodTimer timer(ProceedingJoinPoint joinPoint) {
+        Class<?> proxyClass = joinPoint.getThis().getClass();
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        Map<Method, MethodTimer> methods = timers.get(proxyClass);
+        MethodTimer methodTimer = methods == null ? null : methods.get(method);
+        if (methodTimer == null) {
+            methodTimer = timers.computeIfAbsent(proxyClass, c -> new ConcurrentHashMap<>())
+                    .computeIfAbsent(method, m -> new MethodTimer(className(joinPoint.getThis()), m.getName()));
+        }
+        return methodTimer;
+    }
+
+    /**
+     * The name of the bean class, or of the first interface for JDK proxies such as repositories.
+     */
+    private static String className(Object proxy) {
+        if (Proxy.isProxyClass(proxy.getClass())) {
+            Class<?>[] interfaces = AopProxyUtils.proxiedUserInterfaces(proxy);
+            if (interfaces.length > 0) {
+                return interfaces[0].getSimpleName();
+            }
+        }
+        return ClassUtils.getUserClass(proxy).getSimpleName();
+    }
+
+    private void reportSlowCall(MethodTimer methodTimer, long executionTime) {
+        long now = System.nanoTime();
+        long nextReport = methodTimer.nextReport.get();
+        if (now - nextReport >= 0 && methodTimer.nextReport.compareAndSet(nextReport, now + slowCallReportIntervalNanos)) {
+            log.warn("[Slow Call] - Method - {}  Execution time - {} ms, {} more slow calls since the last report",
+                    methodTimer.name, String.format("%.3f", executionTime / 1e6), methodTimer.unreportedSlowCalls.sumThenReset());
+        } else {
+            methodTimer.unreportedSlowCalls.increment();
+        }
+    }
+
+    private final class MethodTimer {
+
+        private final String name;
+
+        private final Timer timer;
+
+        private final AtomicLong nextReport = new AtomicLong(System.nanoTime());
+
+        private final LongAdder unreportedSlowCalls = new LongAdder();
+
+        MethodTimer(String className, String methodName) {
+            this.name = className + "." + methodName;
+            this.timer = Timer.builder(TIMER_NAME)
+                    .description("Execution time of service and repository methods")
+                    .tag("class", className)
+                    .tag("method", methodName)
+                    .publishPercentiles(0.5, 0.99, 0.999)
+                    .publishPercentileHistogram()
+                    .minimumExpectedValue(Duration.ofNanos(1000))
+                    .maximumExpectedValue(Duration.ofSeconds(30))
+                    .register(meterRegistry);
+        }
     }
 }
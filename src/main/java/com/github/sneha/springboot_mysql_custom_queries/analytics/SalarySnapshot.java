@@ -0,0 +1,433 @@
+package com.github.sneha.springboot_mysql_custom_queries.analytics;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.OptionalInt;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Immutable, columnar copy of the salaries of all employees.
+ *
+ * Instead of one object per employee, the snapshot holds two primitive columns: the salaries and
+ * the dictionary-encoded department of each row. Rows are sorted by department and then by salary,
+ * so the rows of a department form a contiguous range and its percentiles are plain array lookups.
+ * A third column holds all salaries sorted across departments, for the percentiles of all employees.
+ * Scans over the columns are split into fork-join tasks and run on the common pool.
+ *
+ * Departments are matched case-insensitively, like MySQL's default collation does.
+ *
+ * @author sneharavikumartl
+ */
+public final class SalarySnapshot {
+
+    /**
+     * Number of rows below which a scan is not split any further.
+     */
+    static final int SPLIT_THRESHOLD = 1 << 14;
+
+    private static final SalarySnapshot EMPTY = new Builder().build(null);
+
+    /**
+     * Department names by department id, in case-insensitive alphabetical order.
+     */
+    private final String[] departments;
+
+    private final Map<String, Integer> departmentIdsByKey;
+
+    /**
+     * The rows of department d are [departmentOffsets[d], departmentOffsets[d + 1]).
+     */
+    private final int[] departmentOffsets;
+
+    private final int[] departmentIdColumn;
+
+    private final double[] salaryColumn;
+
+    /**
+     * All salaries in ascending order, regardless of their department.
+     */
+    private final double[] sortedSalaries;
+
+    private final Instant takenAt;
+
+    private SalarySnapshot(String[] departments, int[] departmentOffsets, int[] departmentIdColumn, double[] salaryColumn,
+                           double[] sortedSalaries, Instant takenAt) {
+        this.departments = departments;
+        this.departmentOffsets = departmentOffsets;
+        this.departmentIdColumn = departmentIdColumn;
+        this.salaryColumn = salaryColumn;
+        this.sortedSalaries = sortedSalaries;
+        this.takenAt = takenAt;
+        this.departmentIdsByKey = new HashMap<>();
+        for (int id = 0; id < departments.length; id++) {
+            departmentIdsByKey.put(key(departments[id]), id);
+        }
+    }
+
+    /**
+     * Returns a snapshot without any employees.
+     *
+     * @return the empty snapshot
+     */
+    public static SalarySnapshot empty() {
+        return EMPTY;
+    }
+
+    /**
+     * When the snapshot was taken.
+     *
+     * @return the time, or null for the empty snapshot
+     */
+    public Instant getTakenAt() {
+        return takenAt;
+    }
+
+    /**
+     * The number of employees in the snapshot.
+     *
+     * @return the number of rows
+     */
+    public int size() {
+        return salaryColumn.length;
+    }
+
+    /**
+     * The names of all departments in the snapshot.
+     *
+     * @return the department names in alphabetical order
+     */
+    public String[] departments() {
+        return departments.clone();
+    }
+
+    /**
+     * Looks up the id of a department.
+     *
+     * @param department the department name, in any case
+     * @return the department id, or an empty OptionalInt if no employee works in the department
+     */
+    public OptionalInt departmentId(String department) {
+        Integer id = departmentIdsByKey.get(key(department));
+        return id == null ? OptionalInt.empty() : OptionalInt.of(id);
+    }
+
+    /**
+     * The name of a department as stored in the snapshot.
+     *
+     * @param departmentId the department id
+     * @return the department name
+     */
+    public String departmentName(int departmentId) {
+        return departments[departmentId];
+    }
+
+    /**
+     * The number of employees in a department.
+     *
+     * @param departmentId the department id
+     * @return the number of rows of the department
+     */
+    public int departmentSize(int departmentId) {
+        return departmentOffsets[departmentId + 1] - departmentOffsets[departmentId];
+    }
+
+    /**
+     * The heap used by the columns, excluding the department dictionary.
+     *
+     * @return the size in bytes
+     */
+    public long columnBytes() {
+        return (long) salaryColumn.length * (2 * Double.BYTES + Integer.BYTES) + (long) departmentOffsets.length * Integer.BYTES;
+    }
+
+    /**
+     * The lowest salary.
+     *
+     * @param departmentId the department, or -1 for all departments
+     * @return the lowest salary, or NaN if there are no salaries
+     */
+    public double minSalary(int departmentId) {
+        double min = Double.NaN;
+        for (int id = 0; id < departments.length; id++) {
+            if ((departmentId < 0 || id == departmentId) && departmentSize(id) > 0) {
+                min = Double.isNaN(min) ? salaryColumn[departmentOffsets[id]] : Math.min(min, salaryColumn[departmentOffsets[id]]);
+            }
+        }
+        return min;
+    }
+
+    /**
+     * The highest salary.
+     *
+     * @param departmentId the department, or -1 for all departments
+     * @return the highest salary, or NaN if there are no salaries
+     */
+    public double maxSalary(int departmentId) {
+        double max = Double.NaN;
+        for (int id = 0; id < departments.length; id++) {
+            if ((departmentId < 0 || id == departmentId) && departmentSize(id) > 0) {
+                max = Double.isNaN(max) ? salaryColumn[departmentOffsets[id + 1] - 1] : Math.max(max, salaryColumn[departmentOffsets[id + 1] - 1]);
+            }
+        }
+        return max;
+    }
+
+    /**
+     * Counts the salaries falling into equal-width buckets between min and max, both inclusive.
+     * Salaries outside the range are not counted.
+     *
+     * @param departmentId the department to count, or -1 for all departments
+     * @param min          the lower bound of the first bucket
+     * @param max          the upper bound of the last bucket
+     * @param buckets      the number of buckets
+     * @return the number of salaries per bucket
+     */
+    public long[] histogram(int departmentId, double min, double max, int buckets) {
+        int from = departmentId < 0 ? 0 : departmentOffsets[departmentId];
+        int to = departmentId < 0 ? salaryColumn.length : departmentOffsets[departmentId + 1];
+        return ForkJoinPool.commonPool().invoke(new HistogramTask(salaryColumn, from, to, min, max, buckets));
+    }
+
+    /**
+     * Computes salary percentiles using the nearest-rank method.
+     * Percentiles of a single department are read from its sorted range, percentiles across all
+     * departments from the salaries sorted when the snapshot was built.
+     *
+     * @param departmentId the department, or -1 for all departments
+     * @param percentiles  the percentiles to compute, each between 0 and 100
+     * @return the salary at each percentile, or an empty array if there are no salaries
+     */
+    public double[] percentiles(int departmentId, double... percentiles) {
+        double[] sorted;
+        int from;
+        int to;
+        if (departmentId < 0) {
+            sorted = sortedSalaries;
+            from = 0;
+            to = sorted.length;
+        } else {
+            sorted = salaryColumn;
+            from = departmentOffsets[departmentId];
+            to = departmentOffsets[departmentId + 1];
+        }
+        if (from == to) {
+            return new double[0];
+        }
+        double[] values = new double[percentiles.length];
+        for (int i = 0; i < percentiles.length; i++) {
+            int rank = (int) Math.ceil(percentiles[i] / 100 * (to - from));
+            values[i] = sorted[from + Math.max(rank, 1) - 1];
+        }
+        return values;
+    }
+
+    /**
+     * Sums the salaries of every department, before and after a raise. Each salary is raised by the
+     * percentage of its department, but not beyond maxSalary, and then lifted to at least minSalary.
+     *
+     * @param raisePercents the raise per department id, in percent
+     * @param minSalary     the lowest salary after the raise, or NaN for no floor
+     * @param maxSalary     the highest salary after the raise, or NaN for no cap
+     * @return the current payroll of each department at index 2 * departmentId, and the simulated one at 2 * departmentId + 1
+     */
+    public double[] simulateRaise(double[] raisePercents, double minSalary, double maxSalary) {
+        double[] factors = new double[raisePercents.length];
+        for (int id = 0; id < factors.length; id++) {
+            factors[id] = 1 + raisePercents[id] / 100;
+        }
+        return ForkJoinPool.commonPool().invoke(new RaiseTask(this, factors, minSalary, maxSalary, 0, salaryColumn.length));
+    }
+
+    static String key(String department) {
+        return department.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Counts the salaries of a range of rows per bucket, splitting ranges above the threshold in halves.
+     */
+    private static final class HistogramTask extends RecursiveTask<long[]> {
+
+        private final double[] salaries;
+        private final int from;
+        private final int to;
+        private final double min;
+        private final double max;
+        private final int buckets;
+
+        HistogramTask(double[] salaries, int from, int to, double min, double max, int buckets) {
+            this.salaries = salaries;
+            this.from = from;
+            this.to = to;
+            this.min = min;
+            this.max = max;
+            this.buckets = buckets;
+        }
+
+        @Override
+        protected long[] compute() {
+            if (to - from <= SPLIT_THRESHOLD) {
+                long[] counts = new long[buckets];
+                double scale = buckets / (max - min);
+                for (int i = from; i < to; i++) {
+                    double salary = salaries[i];
+                    if (salary >= min && salary <= max) {
+                        counts[Math.min((int) ((salary - min) * scale), buckets - 1)]++;
+                    }
+                }
+                return counts;
+            }
+            int middle = (from + to) >>> 1;
+            HistogramTask left = new HistogramTask(salaries, from, middle, min, max, buckets);
+            left.fork();
+            long[] counts = new HistogramTask(salaries, middle, to, min, max, buckets).compute();
+            long[] leftCounts = left.join();
+            for (int b = 0; b < buckets; b++) {
+                counts[b] += leftCounts[b];
+            }
+            return counts;
+        }
+    }
+
+    /**
+     * Sums the current and the raised salaries of a range of rows per department.
+     */
+    private static final class RaiseTask extends RecursiveTask<double[]> {
+
+        private final SalarySnapshot snapshot;
+        private final double[] factors;
+        private final double minSalary;
+        private final double maxSalary;
+        private final int from;
+        private final int to;
+
+        RaiseTask(SalarySnapshot snapshot, double[] factors, double minSalary, double maxSalary, int from, int to) {
+            this.snapshot = snapshot;
+            this.factors = factors;
+            this.minSalary = minSalary;
+            this.maxSalary = maxSalary;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected double[] compute() {
+            if (to - from <= SPLIT_THRESHOLD) {
+                double[] payrolls = new double[2 * factors.length];
+                int[] departmentIds = snapshot.departmentIdColumn;
+                double[] salaries = snapshot.salaryColumn;
+                for (int i = from; i < to; i++) {
+                    int departmentId = departmentIds[i];
+                    double salary = salaries[i];
+                    double raised = salary * factors[departmentId];
+                    if (raised > maxSalary) {
+                        raised = Math.max(maxSalary, salary);
+                    }
+                    if (raised < minSalary) {
+                        raised = minSalary;
+                    }
+                    payrolls[2 * departmentId] += salary;
+                    payrolls[2 * departmentId + 1] += raised;
+                }
+                return payrolls;
+            }
+            int middle = (from + to) >>> 1;
+            RaiseTask left = new RaiseTask(snapshot, factors, minSalary, maxSalary, from, middle);
+            left.fork();
+            double[] payrolls = new RaiseTask(snapshot, factors, minSalary, maxSalary, middle, to).compute();
+            double[] leftPayrolls = left.join();
+            for (int i = 0; i < payrolls.length; i++) {
+                payrolls[i] += leftPayrolls[i];
+            }
+            return payrolls;
+        }
+    }
+
+    /**
+     * Collects rows and builds a snapshot from them.
+     */
+    public static final class Builder {
+
+        private final Map<String, Integer> provisionalIds = new HashMap<>();
+
+        private final List<String> provisionalNames = new ArrayList<>();
+
+        private int[] departmentIds = new int[1024];
+
+        private double[] salaries = new double[1024];
+
+        private int size;
+
+        /**
+         * Adds an employee.
+         *
+         * @param department the department name
+         * @param salary     the salary
+         * @return this builder
+         */
+        public Builder add(String department, double salary) {
+            if (size == salaries.length) {
+                departmentIds = Arrays.copyOf(departmentIds, size * 2);
+                salaries = Arrays.copyOf(salaries, size * 2);
+            }
+            departmentIds[size] = provisionalIds.computeIfAbsent(key(department), k -> {
+                provisionalNames.add(department);
+                return provisionalNames.size() - 1;
+            });
+            salaries[size] = salary;
+            size++;
+            return this;
+        }
+
+        /**
+         * Builds the snapshot: renumbers the departments alphabetically, groups the rows by
+         * department with a counting sort and sorts the salaries within each department.
+         * All salaries are also sorted once across departments, rather than on every query for them.
+         *
+         * @param takenAt when the rows were read
+         * @return the snapshot
+         */
+        public SalarySnapshot build(Instant takenAt) {
+            String[] names = provisionalNames.toArray(new String[0]);
+            Integer[] order = new Integer[names.length];
+            for (int i = 0; i < order.length; i++) {
+                order[i] = i;
+            }
+            Arrays.sort(order, (a, b) -> key(names[a]).compareTo(key(names[b])));
+            String[] departments = new String[names.length];
+            int[] renumbered = new int[names.length];
+            for (int id = 0; id < order.length; id++) {
+                departments[id] = names[order[id]];
+                renumbered[order[id]] = id;
+            }
+
+            int[] offsets = new int[departments.length + 1];
+            for (int i = 0; i < size; i++) {
+                offsets[renumbered[departmentIds[i]] + 1]++;
+            }
+            for (int id = 0; id < departments.length; id++) {
+                offsets[id + 1] += offsets[id];
+            }
+            int[] next = Arrays.copyOf(offsets, departments.length);
+            int[] departmentIdColumn = new int[size];
+            double[] salaryColumn = new double[size];
+            for (int i = 0; i < size; i++) {
+                int id = renumbered[departmentIds[i]];
+                int row = next[id]++;
+                departmentIdColumn[row] = id;
+                salaryColumn[row] = salaries[i];
+            }
+            for (int id = 0; id < departments.length; id++) {
+                Arrays.parallelSort(salaryColumn, offsets[id], offsets[id + 1]);
+            }
+            double[] sortedSalaries = salaryColumn.clone();
+            Arrays.parallelSort(sortedSalaries);
+            return new SalarySnapshot(departments, offsets, departmentIdColumn, salaryColumn, sortedSalaries, takenAt);
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.github.sneha.springboot_mysql_custom_queries.config;
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * This class enables Spring's annotation driven caching.
+ * The caches themselves are Caffeine caches configured through the spring.cache properties
+ * in application.yml. Their hit, miss and eviction statistics are published as cache metrics
+ * on the actuator port.
+ *
+ * The caching advice is ordered just before the transaction advice, so that it runs outside the
+ * transaction of a method: its cache puts and evictions happen once the transaction has committed,
+ * and not at all if it rolls back.
+ *
+ * @author sneharavikumartl
+ */
+@Configuration
+@EnableCaching(order = Ordered.LOWEST_PRECEDENCE - 1)
+public class CacheConfig {
+
+    /**
+     * Cache holding Employees by their EmployeeId.
+     */
+    public static final String EMPLOYEES_CACHE = "employees";
+}
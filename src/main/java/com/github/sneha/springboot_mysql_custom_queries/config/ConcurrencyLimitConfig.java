@@ -0,0 +1,59 @@
+package com.github.sneha.springboot_mysql_custom_queries.config;
+
+import com.github.sneha.springboot_mysql_custom_queries.limiter.ConcurrencyLimitInterceptor;
+import com.github.sneha.springboot_mysql_custom_queries.limiter.ConcurrencyLimitsEndpoint;
+import com.github.sneha.springboot_mysql_custom_queries.limiter.EndpointGroup;
+import com.github.sneha.springboot_mysql_custom_queries.limiter.GradientConcurrencyLimit;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * This class configures the adaptive concurrency limits of the employee and admin endpoints.
+ * Every EndpointGroup gets its own GradientConcurrencyLimit, starting from the same settings;
+ * the limits are enforced by the ConcurrencyLimitInterceptor and published by the
+ * concurrencylimits actuator endpoint.
+ *
+ * @author sneharavikumartl
+ */
+@Configuration
+@ConditionalOnProperty(name = "employee.concurrency-limit.enabled", havingValue = "true")
+public class ConcurrencyLimitConfig {
+
+    @Bean
+    public ConcurrencyLimitInterceptor concurrencyLimitInterceptor(@Value("${employee.concurrency-limit.initial-limit}") int initialLimit,
+                                                                   @Value("${employee.concurrency-limit.min-limit}") int minLimit,
+                                                                   @Value("${employee.concurrency-limit.max-limit}") int maxLimit,
+                                                                   @Value("${employee.concurrency-limit.tolerance}") double tolerance,
+                                                                   @Value("${employee.concurrency-limit.window}") Duration window,
+                                                                   MeterRegistry meterRegistry) {
+        Map<EndpointGroup, GradientConcurrencyLimit> limits = new EnumMap<>(EndpointGroup.class);
+        for (EndpointGroup group : EndpointGroup.values()) {
+            limits.put(group, new GradientConcurrencyLimit(initialLimit, minLimit, maxLimit, tolerance, window.toNanos()));
+        }
+        return new ConcurrencyLimitInterceptor(limits, meterRegistry);
+    }
+
+    @Bean
+    public ConcurrencyLimitsEndpoint concurrencyLimitsEndpoint(ConcurrencyLimitInterceptor concurrencyLimitInterceptor) {
+        return new ConcurrencyLimitsEndpoint(concurrencyLimitInterceptor);
+    }
+
+    @Bean
+    public WebMvcConfigurer concurrencyLimitWebMvcConfigurer(ConcurrencyLimitInterceptor concurrencyLimitInterceptor) {
+        return new WebMvcConfigurer() {
+            @Override
+            public void addInterceptors(InterceptorRegistry registry) {
+                registry.addInterceptor(concurrencyLimitInterceptor).addPathPatterns("/employees/**", "/admin/**");
+            }
+        };
+    }
+}
@@ -0,0 +1,61 @@
+package com.github.sneha.springboot_mysql_custom_queries.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Read replicas of the primary database configured in spring.datasource, bound from employee.datasource.
+ * Without replicas, every statement runs on the primary.
+ *
+ * @author sneharavikumartl
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "employee.datasource")
+public class ReplicaProperties {
+
+    /**
+     * The replicas read-only transactions are balanced over.
+     */
+    private List<Replica> replicas = new ArrayList<>();
+
+    /**
+     * How often replicas are checked, so that ejected replicas are taken back once they answer again.
+     */
+    private Duration healthCheckInterval = Duration.ofSeconds(10);
+
+    /**
+     * How long a read waits for a replica connection before the replica is ejected and the read moves on.
+     */
+    private Duration connectionTimeout = Duration.ofSeconds(1);
+
+    /**
+     * How long the reads of a client go to the primary after it has changed an employee,
+     * so that it sees its own change despite replication lag.
+     */
+    private Duration readYourWritesWindow = Duration.ofSeconds(2);
+
+    /**
+     * Connection settings of a replica. Pool settings not given here are taken from spring.datasource.hikari.
+     */
+    @Getter
+    @Setter
+    public static class Replica {
+
+        private String url;
+
+        private String username;
+
+        private String password;
+
+        /**
+         * Connections to the replica; defaults to the size of the primary pool.
+         */
+        private Integer maximumPoolSize;
+    }
+}
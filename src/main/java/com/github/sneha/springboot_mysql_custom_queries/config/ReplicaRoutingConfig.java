@@ -0,0 +1,84 @@
+package com.github.sneha.springboot_mysql_custom_queries.config;
+
+import com.github.sneha.springboot_mysql_custom_queries.jdbc.ReadYourWritesTracker;
+import com.github.sneha.springboot_mysql_custom_queries.jdbc.ReplicaRouter;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * This class configures the read/write split, when read replicas are configured under employee.datasource.replicas.
+ *
+ * The DataSource is a LazyConnectionDataSourceProxy over the primary, which only fetches a connection
+ * when the first statement runs. By then the transaction has marked the connection read-only or not,
+ * so read-only transactions (the repository reads and the read-only service methods) get their
+ * connection from the ReplicaRouter, and everything else, including Flyway, from the primary.
+ *
+ * The pools are built here instead of being beans of their own, so that the statement accounting
+ * proxy wraps only the routing DataSource and counts every statement once.
+ *
+ * @author sneharavikumartl
+ */
+@Configuration
+@ConditionalOnProperty(name = "employee.datasource.replicas[0].url")
+@EnableConfigurationProperties(ReplicaProperties.class)
+public class ReplicaRoutingConfig {
+
+    private static final String HIKARI_PROPERTIES = "spring.datasource.hikari";
+
+    @Bean
+    public ReadYourWritesTracker readYourWritesTracker(ReplicaProperties replicaProperties) {
+        return new ReadYourWritesTracker(replicaProperties.getReadYourWritesWindow());
+    }
+
+    @Bean(destroyMethod = "close")
+    public ReplicaRouter replicaRouter(DataSourceProperties dataSourceProperties, ReplicaProperties replicaProperties,
+                                       ReadYourWritesTracker readYourWritesTracker, Environment environment,
+                                       MeterRegistry meterRegistry) {
+        Binder binder = Binder.get(environment);
+        MicrometerMetricsTrackerFactory metricsTrackerFactory = new MicrometerMetricsTrackerFactory(meterRegistry);
+
+        HikariDataSource primary = dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        binder.bind(HIKARI_PROPERTIES, Bindable.ofInstance(primary));
+        primary.setPoolName("primary");
+        primary.setMetricsTrackerFactory(metricsTrackerFactory);
+
+        List<HikariDataSource> replicaPools = new ArrayList<>();
+        List<ReplicaProperties.Replica> replicas = replicaProperties.getReplicas();
+        for (int i = 0; i < replicas.size(); i++) {
+            ReplicaProperties.Replica replica = replicas.get(i);
+            HikariDataSource pool = new HikariDataSource();
+            binder.bind(HIKARI_PROPERTIES, Bindable.ofInstance(pool));
+            pool.setJdbcUrl(replica.getUrl());
+            pool.setUsername(replica.getUsername());
+            pool.setPassword(replica.getPassword());
+            pool.setMaximumPoolSize(replica.getMaximumPoolSize() != null ? replica.getMaximumPoolSize() : primary.getMaximumPoolSize());
+            pool.setConnectionTimeout(replicaProperties.getConnectionTimeout().toMillis());
+            pool.setReadOnly(true);
+            pool.setPoolName("replica-" + (i + 1));
+            pool.setMetricsTrackerFactory(metricsTrackerFactory);
+            replicaPools.add(pool);
+        }
+        return new ReplicaRouter(primary, replicaPools, readYourWritesTracker, meterRegistry);
+    }
+
+    @Bean
+    public DataSource dataSource(ReplicaRouter replicaRouter) {
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(replicaRouter.getPrimary());
+        dataSource.setReadOnlyDataSource(replicaRouter.getReadDataSource());
+        return dataSource;
+    }
+}
@@ -0,0 +1,15 @@
+package com.github.sneha.springboot_mysql_custom_queries.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * This class enables Spring's scheduled task execution, used by the
+ * background jobs that reconcile the in-memory read models with the database.
+ *
+ * @author sneharavikumartl
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
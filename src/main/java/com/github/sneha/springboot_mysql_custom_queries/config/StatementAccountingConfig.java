@@ -0,0 +1,63 @@
+package com.github.sneha.springboot_mysql_custom_queries.config;
+
+import com.github.sneha.springboot_mysql_custom_queries.jdbc.SqlStatsEndpoint;
+import com.github.sneha.springboot_mysql_custom_queries.jdbc.StatementAccountingFilter;
+import com.github.sneha.springboot_mysql_custom_queries.jdbc.StatementAccountingListener;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * This class configures the per-request accounting of JDBC statements.
+ * The DataSource is wrapped in a datasource-proxy, whose listener counts statements, fetched rows and
+ * database time for the request in progress; the StatementAccountingFilter aggregates them per endpoint
+ * and reports slow queries and N+1 patterns. The aggregates are published by the sqlstats actuator endpoint.
+ *
+ * Fetched rows are only counted with employee.sql.accounting.count-rows, since that proxies every
+ * JDBC call, including every column read of the streamed and imported rows.
+ *
+ * @author sneharavikumartl
+ */
+@Configuration
+@ConditionalOnProperty(name = "employee.sql.accounting.enabled", havingValue = "true")
+public class StatementAccountingConfig {
+
+    @Bean
+    public static BeanPostProcessor statementAccountingDataSourceProxy(Environment environment) {
+        StatementAccountingListener listener = new StatementAccountingListener();
+        boolean countRows = environment.getProperty("employee.sql.accounting.count-rows", Boolean.class, false);
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof ProxyDataSource)) {
+                    ProxyDataSourceBuilder builder = ProxyDataSourceBuilder.create(beanName, dataSource).listener(listener);
+                    if (countRows) {
+                        builder.methodListener(listener).proxyResultSet();
+                    }
+                    return builder.build();
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    public StatementAccountingFilter statementAccountingFilter(@Value("${employee.sql.slow-query-threshold}") Duration slowQueryThreshold,
+                                                               @Value("${employee.sql.n-plus-one-threshold}") int nPlusOneThreshold,
+                                                               @Value("${employee.sql.report-interval}") Duration reportInterval) {
+        return new StatementAccountingFilter(slowQueryThreshold, nPlusOneThreshold, reportInterval);
+    }
+
+    @Bean
+    public SqlStatsEndpoint sqlStatsEndpoint(StatementAccountingFilter statementAccountingFilter) {
+        return new SqlStatsEndpoint(statementAccountingFilter);
+    }
+}
@@ -0,0 +1,31 @@
+package com.github.sneha.springboot_mysql_custom_queries.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * This class checks the runtime when virtual threads are enabled. Spring Boot only switches to virtual
+ * threads on Java 21 and later; on an older runtime the property is silently ignored, while the
+ * bulkhead it enables by default still limits the database calls. A warning is logged at startup
+ * so that this does not go unnoticed.
+ *
+ * @author sneharavikumartl
+ */
+@Configuration
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+@Slf4j
+public class VirtualThreadsConfig {
+
+    private static final int VIRTUAL_THREADS_JAVA_VERSION = 21;
+
+    public VirtualThreadsConfig(@Value("${employee.bulkhead.enabled:false}") boolean bulkhead) {
+        int javaVersion = Runtime.version().feature();
+        if (javaVersion < VIRTUAL_THREADS_JAVA_VERSION) {
+            log.warn("spring.threads.virtual.enabled is set, but virtual threads need Java {} and this is Java {}. "
+                    + "Requests are handled on platform threads{}", VIRTUAL_THREADS_JAVA_VERSION, javaVersion,
+                    bulkhead ? ", and the bulkhead enabled along with virtual threads still limits database calls" : "");
+        }
+    }
+}
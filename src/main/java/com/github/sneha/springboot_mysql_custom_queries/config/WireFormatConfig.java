@@ -0,0 +1,40 @@
+package com.github.sneha.springboot_mysql_custom_queries.config;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+/**
+ * This class configures the binary representations clients can request instead of JSON,
+ * with an Accept header of application/x-jackson-smile or application/cbor. JSON remains the default.
+ *
+ * Both are Jackson formats, so every endpoint supports them with the same mapping as JSON.
+ * Smile writes every property name only once per response and refers back to it afterwards,
+ * which makes it the more compact of the two for employee lists. Back-references for repeated
+ * string values, such as departments, are left disabled: they save little next to the unique
+ * names, emails and addresses, and double the serialization time (see EmployeeWireFormatBenchmark).
+ *
+ * @author sneharavikumartl
+ */
+@Configuration
+public class WireFormatConfig {
+
+    /**
+     * Media type of Smile, Jackson's binary JSON format.
+     */
+    public static final String APPLICATION_SMILE_VALUE = "application/x-jackson-smile";
+
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(builder.factory(new SmileFactory()).build());
+    }
+
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+    }
+}
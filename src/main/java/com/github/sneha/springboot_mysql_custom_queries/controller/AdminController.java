@@ -1,5 +1,8 @@
 package com.github.sneha.springboot_mysql_custom_queries.controller;
 
+import com.github.sneha.springboot_mysql_custom_queries.importer.EmployeeImport;
+import com.github.sneha.springboot_mysql_custom_queries.importer.EmployeeImporter;
+import com.github.sneha.springboot_mysql_custom_queries.model.DeleteOutcome;
 import com.github.sneha.springboot_mysql_custom_queries.service.EmployeeService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -7,9 +10,16 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.io.InputStream;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
 /**
  * This class handles administrative operations such as Employee management
  * and system configuration. It uses Spring Security for authentication
@@ -24,6 +34,9 @@ public class AdminController {
     @Autowired
     private EmployeeService employeeService;
 
+    @Autowired
+    private EmployeeImporter employeeImporter;
+
     /**
      * Deletes a Employee by their EmployeeId.
      * This method interacts with the EmployeeService to delete a employee by their ID.
@@ -31,12 +44,47 @@ public class AdminController {
      * @param employeeId the ID of the employee to be deleted
      */
     @DeleteMapping("/deleteEmployee/{employeeId}")
-    @Operation(summary = "Delete Employee", description = "Deletes a Employee by their unique EmployeeId.")
+    @Operation(summary = "Delete Employee", description = "Deletes a Employee by their unique EmployeeId, in a single DELETE statement.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Employee successfully deleted"),
             @ApiResponse(responseCode = "404", description = "Employee not found")
     })
-    public void deleteEmployee(@PathVariable String employeeId) {
+    public void deleteEmployee(@PathVariable UUID employeeId) {
         employeeService.deleteEmployee(employeeId);
     }
+
+    /**
+     * Deletes a list of Employees by their EmployeeIds in one transaction.
+     * The request is a POST since the IDs are sent in the request body.
+     *
+     * @param employeeIds the IDs of the employees to be deleted
+     * @return the outcome for every distinct ID, DELETED or NOT_FOUND
+     */
+    @PostMapping("/deleteEmployees")
+    @Operation(summary = "Delete Employees", description = "Deletes a list of Employees by their EmployeeIds in one transaction, in chunked DELETE ... IN statements. IDs without an Employee are reported as NOT_FOUND instead of failing the request.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Employees deleted, with the outcome for every ID"),
+            @ApiResponse(responseCode = "413", description = "Too many EmployeeIds in one request")
+    })
+    public Map<UUID, DeleteOutcome> deleteEmployees(@RequestBody List<UUID> employeeIds) {
+        return employeeService.deleteEmployees(employeeIds);
+    }
+
+    /**
+     * Imports Employees from an uploaded CSV file, read as a stream.
+     * The header row names the Employee properties of the columns, e.g.
+     * employeeName,email,phoneNumber,address,salary,dept.
+     *
+     * @param csv the request body, a CSV file
+     * @return the outcome of the import, with the rejected rows
+     */
+    @PostMapping(value = "/importEmployees", consumes = "text/csv")
+    @Operation(summary = "Import Employees", description = "Imports Employees from a CSV file with a header row. Rows are validated in parallel and inserted in batches; invalid rows and rows rejected by the database are reported instead of failing the import. Progress can be followed at /actuator/imports.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Import completed, with the numbers of imported and rejected rows"),
+            @ApiResponse(responseCode = "500", description = "Import stopped early, e.g. because the file could not be read; rows imported until then are kept")
+    })
+    public EmployeeImport importEmployees(InputStream csv) {
+        return employeeImporter.importEmployees(csv);
+    }
 }
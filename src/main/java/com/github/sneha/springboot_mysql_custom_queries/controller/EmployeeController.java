@@ -1,17 +1,38 @@
 package com.github.sneha.springboot_mysql_custom_queries.controller;
 
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.github.sneha.springboot_mysql_custom_queries.config.WireFormatConfig;
 import com.github.sneha.springboot_mysql_custom_queries.model.Employee;
+import com.github.sneha.springboot_mysql_custom_queries.model.EmployeeNameMatch;
+import com.github.sneha.springboot_mysql_custom_queries.model.EmployeePatch;
+import com.github.sneha.springboot_mysql_custom_queries.model.KeysetPage;
+import com.github.sneha.springboot_mysql_custom_queries.model.SalaryStatsReport;
 import com.github.sneha.springboot_mysql_custom_queries.service.EmployeeService;
+import com.github.sneha.springboot_mysql_custom_queries.service.SalaryStatsService;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
+import jakarta.validation.groups.Default;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
 
 /**
  * Controller for managing employee-related operations.
@@ -27,7 +48,17 @@ public class EmployeeController {
     @Autowired
     private EmployeeService employeeService;
 
-    private final ObjectMapper objectMapper = new ObjectMapper();
+    @Autowired
+    private SalaryStatsService salaryStatsService;
+
+    @Autowired
+    private MappingJackson2SmileHttpMessageConverter smileConverter;
+
+    @Autowired
+    private MappingJackson2CborHttpMessageConverter cborConverter;
+
+    @Autowired
+    private ObjectMapper objectMapper;
 
     @Operation(summary = "Create a new employee", description = "Creates a new employee with auto-generated employeeId.")
     @ApiResponses(value = {
@@ -35,42 +66,86 @@ public class EmployeeController {
             @ApiResponse(responseCode = "400", description = "Invalid input data")
     })
     @PostMapping("/addEmployee")
-    public Employee createEmployee(@Valid @RequestBody Employee employee) {
+    public Employee createEmployee(@Validated({Default.class, Employee.Creation.class}) @RequestBody Employee employee) {
         return employeeService.createEmployee(employee);
     }
 
-    @Operation(summary = "Get an employee by ID", description = "Retrieves an employee by their unique employeeId. Cached for performance.")
+    @Operation(summary = "Create new employees in bulk", description = "Creates a list of new employees with auto-generated employeeIds in a single transaction, using JDBC batch inserts. If any employee is invalid, none are created.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Employees successfully created"),
+            @ApiResponse(responseCode = "400", description = "Invalid input data"),
+            @ApiResponse(responseCode = "413", description = "Too many employees in one request")
+    })
+    @PostMapping("/addEmployees")
+    public List<Employee> createEmployees(@RequestBody List<Employee> employees) {
+        return employeeService.createEmployees(employees);
+    }
+
+    @Operation(summary = "Get an employee by ID", description = "Retrieves an employee by their unique employeeId. Cached for performance. The ETag is the version of the employee; a request with a matching If-None-Match header is answered with 304.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Employee found"),
+            @ApiResponse(responseCode = "304", description = "Employee not modified since the given ETag"),
             @ApiResponse(responseCode = "404", description = "Employee not found")
     })
     @GetMapping("/getEmployee/{employeeId}")
-    public Employee getEmployee(@PathVariable String employeeId) {
-        return employeeService.getEmployeeById(employeeId);
+    public Employee getEmployee(@PathVariable UUID employeeId, WebRequest request) {
+        Employee employee = employeeService.getEmployeeById(employeeId);
+        if (request.checkNotModified(String.valueOf(employee.getVersion())))
+            return null;  // 304, the employee is not serialized
+        return employee;
     }
 
     @Operation(summary = "Update an existing employee", description = "Updates an employee's details by their employeeId.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Employee successfully updated"),
             @ApiResponse(responseCode = "404", description = "Employee not found"),
-            @ApiResponse(responseCode = "400", description = "Invalid input data")
+            @ApiResponse(responseCode = "400", description = "Invalid input data"),
+            @ApiResponse(responseCode = "409", description = "Employee was changed concurrently")
     })
     @PostMapping("/updateEmployee/{employeeId}")
-    public Employee updateEmployee(@PathVariable String employeeId, @Valid @RequestBody Employee employee) {
+    public Employee updateEmployee(@PathVariable UUID employeeId, @Valid @RequestBody Employee employee) {
         log.info("Received Employee: {}", employee);
         return employeeService.updateEmployee(employeeId, employee);
     }
 
-    @Operation(summary = "Retrieve all employee names", description = "Fetches the names of all employees.")
+    @Operation(summary = "Partially update an employee", description = "Changes only the fields present in the request, in a single UPDATE statement. The request carries the version of the employee it is based on; if the employee has changed since, nothing is updated. The new version is returned in the ETag header.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "204", description = "Employee successfully updated"),
+            @ApiResponse(responseCode = "400", description = "Invalid input data"),
+            @ApiResponse(responseCode = "404", description = "Employee not found"),
+            @ApiResponse(responseCode = "409", description = "Employee has been changed since the given version")
+    })
+    @PatchMapping("/{employeeId}")
+    public ResponseEntity<Void> patchEmployee(@PathVariable UUID employeeId, @Valid @RequestBody EmployeePatch patch) {
+        long version = employeeService.patchEmployee(employeeId, patch);
+        return ResponseEntity.noContent().eTag(String.valueOf(version)).build();
+    }
+
+    @Operation(summary = "Retrieve all employee names", description = "Fetches the names of all employees. The ETag changes whenever an employee is added, removed or renamed; a request with a matching If-None-Match header is answered with 304 without querying the names.")
     @ApiResponses(value = {
-            @ApiResponse(responseCode = "200", description = "Employee names retrieved successfully")
+            @ApiResponse(responseCode = "200", description = "Employee names retrieved successfully"),
+            @ApiResponse(responseCode = "304", description = "Employee names not modified since the given ETag")
     })
     @GetMapping("/getAllEmployees")
-    public List<String> getAllEmployees() {
+    public List<String> getAllEmployees(WebRequest request) {
+        Optional<String> version = employeeService.getAllEmployeesVersion();
+        if (version.isPresent() && request.checkNotModified(version.get()))
+            return null;
         return employeeService.getAllEmployees();
     }
 
-    @Operation(summary = "Retrieve all employee details", description = "Fetches the complete details of all employees.")
+    @Operation(summary = "Retrieve a page of employee names", description = "Fetches the names of employees one page at a time, using keyset pagination on employeeId.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Employee names retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor or page size")
+    })
+    @GetMapping("/getAllEmployeesPage")
+    public KeysetPage<String> getAllEmployeesPage(@RequestParam(required = false) String cursor,
+                                                  @RequestParam(required = false, defaultValue = "${employee.pagination.default-page-size}") int pageSize) {
+        return employeeService.getAllEmployeesPage(cursor, pageSize);
+    }
+
+    @Operation(summary = "Retrieve all employee details", description = "Fetches the complete details of all employees. Also available as newline-delimited JSON, Smile or CBOR, streamed with constant memory usage, depending on the Accept header.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Employee details retrieved successfully")
     })
@@ -79,6 +154,76 @@ public class EmployeeController {
         return employeeService.getAllEmployeeDetails();
     }
 
+    @Operation(summary = "Retrieve a page of employee details", description = "Fetches the complete details of employees one page at a time, using keyset pagination on employeeId.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Employee details retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor or page size")
+    })
+    @GetMapping("/getAllEmployeeDetailsPage")
+    public KeysetPage<Employee> getAllEmployeeDetailsPage(@RequestParam(required = false) String cursor,
+                                                          @RequestParam(required = false, defaultValue = "${employee.pagination.default-page-size}") int pageSize) {
+        return employeeService.getAllEmployeeDetailsPage(cursor, pageSize);
+    }
+
+    @Operation(summary = "Stream all employee details", description = "Streams the complete details of all employees as newline-delimited JSON, one employee per line, with constant memory usage.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Employee details streamed successfully")
+    })
+    @GetMapping(value = {"/stream", "/getAllEmployeeDetails"}, produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public void streamAllEmployeeDetails(HttpServletResponse response) throws IOException {
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        ObjectWriter writer = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(response.getOutputStream())) {
+            generator.setRootValueSeparator(null);
+            employeeService.streamAllEmployeeDetails(employee -> {
+                try {
+                    writer.writeValue(generator, employee);
+                    generator.writeRaw('\n');
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        }
+    }
+
+    @Operation(summary = "Stream all employee details as Smile", description = "Streams the complete details of all employees as one Smile (binary JSON) array, with constant memory usage. Property names are written once and referenced afterwards.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Employee details streamed successfully")
+    })
+    @GetMapping(value = "/getAllEmployeeDetails", produces = WireFormatConfig.APPLICATION_SMILE_VALUE)
+    public void streamAllEmployeeDetailsAsSmile(HttpServletResponse response) throws IOException {
+        streamAllEmployeeDetails(response, WireFormatConfig.APPLICATION_SMILE_VALUE, smileConverter.getObjectMapper());
+    }
+
+    @Operation(summary = "Stream all employee details as CBOR", description = "Streams the complete details of all employees as one CBOR array, with constant memory usage.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Employee details streamed successfully")
+    })
+    @GetMapping(value = "/getAllEmployeeDetails", produces = MediaType.APPLICATION_CBOR_VALUE)
+    public void streamAllEmployeeDetailsAsCbor(HttpServletResponse response) throws IOException {
+        streamAllEmployeeDetails(response, MediaType.APPLICATION_CBOR_VALUE, cborConverter.getObjectMapper());
+    }
+
+    /**
+     * Writes all employees as a single array in a binary format, one employee at a time
+     * as they are read from the database.
+     */
+    private void streamAllEmployeeDetails(HttpServletResponse response, String contentType, ObjectMapper mapper) throws IOException {
+        response.setContentType(contentType);
+        ObjectWriter writer = mapper.writerFor(Employee.class).without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        try (JsonGenerator generator = mapper.getFactory().createGenerator(response.getOutputStream())) {
+            generator.writeStartArray();
+            employeeService.streamAllEmployeeDetails(employee -> {
+                try {
+                    writer.writeValue(generator, employee);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            generator.writeEndArray();
+        }
+    }
+
     @Operation(summary = "Get total employee count", description = "Retrieves the total number of employees.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Total employee count retrieved successfully")
@@ -88,25 +233,74 @@ public class EmployeeController {
         return employeeService.getTotalEmployeeCount();
     }
 
-    @Operation(summary = "Get employees by department", description = "Fetches the names of employees in a specific department.")
+    @Operation(summary = "Get employee count by department", description = "Retrieves the number of employees in a specific department.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Department employee count retrieved successfully")
+    })
+    @GetMapping("/getEmployeeCountFromDept/{department}")
+    public long getEmployeeCountFromDept(@PathVariable String department) {
+        return employeeService.getEmployeeCountFromDept(department);
+    }
+
+    @Operation(summary = "Get employees by department", description = "Fetches the names of employees in a specific department. The ETag changes whenever an employee joins or leaves the department or is renamed; a request with a matching If-None-Match header is answered with 304.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Employees retrieved successfully"),
+            @ApiResponse(responseCode = "304", description = "Employees not modified since the given ETag"),
             @ApiResponse(responseCode = "404", description = "Department not found")
     })
     @GetMapping("/getEmployeesFromDept/{department}")
-    public List<String> getEmployeesFromDept(@PathVariable String department) {
+    public List<String> getEmployeesFromDept(@PathVariable String department, WebRequest request) {
+        Optional<String> version = employeeService.getEmployeeFromDeptVersion(department);
+        if (version.isPresent() && request.checkNotModified(version.get()))
+            return null;
         return employeeService.getEmployeeFromDept(department);
     }
 
-    @Operation(summary = "Filter employees", description = "Filters employees based on department and salary range.")
+    @Operation(summary = "Search employees by name", description = "Finds the employees whose names start with the given prefix, ignoring case, in alphabetical order, optionally within a department. Served from an in-memory index for type-ahead lookups, without querying the database.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Matching employees retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid limit"),
+            @ApiResponse(responseCode = "503", description = "Department index still loading after a restart")
+    })
+    @GetMapping("/search")
+    public List<EmployeeNameMatch> searchEmployees(@RequestParam String prefix,
+                                                   @RequestParam(required = false, defaultValue = "") String department,
+                                                   @RequestParam(required = false, defaultValue = "${employee.search.default-limit}") int limit) {
+        return employeeService.searchEmployees(prefix, department, limit);
+    }
+
+    @Operation(summary = "Filter employees", description = "Filters employees based on department and salary range. Returned as JSON, or as Smile or CBOR depending on the Accept header.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Employees filtered successfully"),
             @ApiResponse(responseCode = "400", description = "Invalid filter parameters")
     })
     @GetMapping("/filterEmployees")
     public List<Employee> filterEmployee(@RequestParam(required = false, defaultValue = "") String department,
-                                         @RequestParam(required = false, defaultValue = "0") double minSalary,
-                                         @RequestParam(required = false, defaultValue = "1.7976931348623157E308") double maxSalary) {
+                                         @RequestParam(required = false) Double minSalary,
+                                         @RequestParam(required = false) Double maxSalary) {
         return employeeService.filterEmployee(department, minSalary, maxSalary);
     }
+
+    @Operation(summary = "Filter employees page by page", description = "Filters employees based on department and salary range, one page at a time, using keyset pagination on (department, salary, employeeId).")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Employees filtered successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid filter parameters, cursor or page size")
+    })
+    @GetMapping("/filterEmployeesPage")
+    public KeysetPage<Employee> filterEmployeePage(@RequestParam(required = false, defaultValue = "") String department,
+                                                   @RequestParam(required = false) Double minSalary,
+                                                   @RequestParam(required = false) Double maxSalary,
+                                                   @RequestParam(required = false) String cursor,
+                                                   @RequestParam(required = false, defaultValue = "${employee.pagination.default-page-size}") int pageSize) {
+        return employeeService.filterEmployeePage(department, minSalary, maxSalary, cursor, pageSize);
+    }
+
+    @Operation(summary = "Get salary statistics per department", description = "Retrieves headcount, average, minimum, maximum, median and 90th percentile salary of every department. The statistics are precomputed periodically; the response tells when they were computed and whether employees have changed since.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Salary statistics retrieved successfully")
+    })
+    @GetMapping("/stats/salary")
+    public SalaryStatsReport getSalaryStats() {
+        return salaryStatsService.getSalaryStats();
+    }
 }
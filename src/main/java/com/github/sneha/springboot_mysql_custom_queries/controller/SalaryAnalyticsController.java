@@ -0,0 +1,65 @@
+package com.github.sneha.springboot_mysql_custom_queries.controller;
+
+import com.github.sneha.springboot_mysql_custom_queries.model.RaiseScenario;
+import com.github.sneha.springboot_mysql_custom_queries.model.RaiseSimulation;
+import com.github.sneha.springboot_mysql_custom_queries.model.SalaryHistogram;
+import com.github.sneha.springboot_mysql_custom_queries.model.SalaryPercentiles;
+import com.github.sneha.springboot_mysql_custom_queries.service.SalaryAnalyticsService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * Controller for salary analytics across departments.
+ * Provides endpoints for salary histograms, percentiles and raise simulations, answered from an in-memory snapshot.
+ *
+ * @author sneharavikumartl
+ */
+@RestController
+@RequestMapping("/employees/analytics")
+public class SalaryAnalyticsController {
+
+    @Autowired
+    private SalaryAnalyticsService salaryAnalyticsService;
+
+    @Operation(summary = "Get a salary histogram", description = "Counts the employees per salary bucket, for one department or all departments. Computed from an in-memory snapshot that is refreshed periodically.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Histogram computed successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid number of buckets or salary range"),
+            @ApiResponse(responseCode = "404", description = "Department not found")
+    })
+    @GetMapping("/histogram")
+    public SalaryHistogram getHistogram(@RequestParam(required = false) String department,
+                                        @RequestParam(required = false) Double minSalary,
+                                        @RequestParam(required = false) Double maxSalary,
+                                        @RequestParam(required = false, defaultValue = "20") int buckets) {
+        return salaryAnalyticsService.getHistogram(department, minSalary, maxSalary, buckets);
+    }
+
+    @Operation(summary = "Get salary percentiles", description = "Computes salary percentiles with the nearest-rank method, for one department or all departments. Computed from an in-memory snapshot that is refreshed periodically.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Percentiles computed successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid percentiles"),
+            @ApiResponse(responseCode = "404", description = "Department not found")
+    })
+    @GetMapping("/percentiles")
+    public SalaryPercentiles getPercentiles(@RequestParam(required = false) String department,
+                                            @RequestParam(required = false, defaultValue = "10,25,50,75,90") List<Double> percentiles) {
+        return salaryAnalyticsService.getPercentiles(department, percentiles);
+    }
+
+    @Operation(summary = "Simulate a salary raise", description = "Computes the payroll of every department before and after a raise per department, optionally bounded by a minimum and maximum salary. Nothing is changed.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Raise simulated successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid raise scenario"),
+            @ApiResponse(responseCode = "404", description = "Department not found")
+    })
+    @PostMapping("/simulateRaise")
+    public RaiseSimulation simulateRaise(@RequestBody RaiseScenario scenario) {
+        return salaryAnalyticsService.simulateRaise(scenario);
+    }
+}
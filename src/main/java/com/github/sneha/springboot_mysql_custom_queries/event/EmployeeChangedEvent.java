@@ -0,0 +1,65 @@
+package com.github.sneha.springboot_mysql_custom_queries.event;
+
+import com.github.sneha.springboot_mysql_custom_queries.model.Employee;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.UUID;
+
+/**
+ * Application event published by the EmployeeService whenever an employee is created, updated or deleted.
+ * In-memory read models listen to it to stay in sync with the database without querying it.
+ * Listeners should use @TransactionalEventListener so that they only see committed changes.
+ *
+ * @author sneharavikumartl
+ */
+@Getter
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class EmployeeChangedEvent {
+
+    /**
+     * The kind of change.
+     */
+    public enum Type {
+        CREATED, UPDATED, DELETED
+    }
+
+    private final Type type;
+
+    private final UUID employeeId;
+
+    /**
+     * The employee name after the change, or null if it is unchanged or the employee was deleted.
+     */
+    private final String employeeName;
+
+    /**
+     * The department after the change, or null if it is unchanged or the employee was deleted.
+     */
+    private final String department;
+
+    public static EmployeeChangedEvent created(Employee employee) {
+        return new EmployeeChangedEvent(Type.CREATED, employee.getEmployeeId(), employee.getEmployeeName(), employee.getDept());
+    }
+
+    public static EmployeeChangedEvent updated(Employee employee) {
+        return new EmployeeChangedEvent(Type.UPDATED, employee.getEmployeeId(), employee.getEmployeeName(), employee.getDept());
+    }
+
+    /**
+     * Creates the event for a partial update, which only knows the values it changed.
+     *
+     * @param employeeId   the ID of the updated employee
+     * @param employeeName the new name, or null if it is unchanged
+     * @param department   the new department, or null if it is unchanged
+     * @return the event
+     */
+    public static EmployeeChangedEvent patched(UUID employeeId, String employeeName, String department) {
+        return new EmployeeChangedEvent(Type.UPDATED, employeeId, employeeName, department);
+    }
+
+    public static EmployeeChangedEvent deleted(UUID employeeId) {
+        return new EmployeeChangedEvent(Type.DELETED, employeeId, null, null);
+    }
+}
@@ -0,0 +1,27 @@
+package com.github.sneha.springboot_mysql_custom_queries.exception;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Custom exception class for handling bulk requests that exceed the configured size limit.
+ * It is annotated with @ResponseStatus to return a 413 Payload Too Large status automatically.
+ *
+ * @author sneharavikumartl
+ */
+@Slf4j
+@ResponseStatus(HttpStatus.PAYLOAD_TOO_LARGE)
+public class BulkRequestTooLargeException extends RuntimeException {
+
+    /**
+     * Constructor for BulkRequestTooLargeException.
+     * This constructor takes a message string that will be logged and passed to the parent exception class.
+     *
+     * @param message the detail message explaining the cause of the exception
+     */
+    public BulkRequestTooLargeException(String message) {
+        super(message);
+        log.error(message);
+    }
+}
@@ -0,0 +1,28 @@
+package com.github.sneha.springboot_mysql_custom_queries.exception;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Custom exception class for handling updates based on a stale version of an employee.
+ * This exception is thrown when an employee has been changed by someone else since the client read it.
+ * It is annotated with @ResponseStatus to return a 409 Conflict status automatically.
+ *
+ * @author sneharavikumartl
+ */
+@Slf4j
+@ResponseStatus(HttpStatus.CONFLICT)
+public class EmployeeVersionConflictException extends RuntimeException {
+
+    /**
+     * Constructor for EmployeeVersionConflictException.
+     * This constructor takes a message string that will be logged and passed to the parent exception class.
+     *
+     * @param message the detail message explaining the cause of the exception
+     */
+    public EmployeeVersionConflictException(String message) {
+        super(message);
+        log.warn(message);
+    }
+}
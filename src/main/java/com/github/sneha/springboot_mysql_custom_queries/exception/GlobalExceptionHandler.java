@@ -2,6 +2,8 @@ package com.github.sneha.springboot_mysql_custom_queries.exception;
 
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -57,6 +59,61 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("Database error occurred: " + ex.getCause().getMessage());
     }
 
+    /**
+     * Handles InvalidEmployeeDataException, which occurs when employees validated outside of
+     * Spring MVC, such as the entries of a bulk request, violate their constraints.
+     *
+     * @param ex the exception object
+     * @return a ResponseEntity containing the error messages with a 400 Bad Request status
+     */
+    @ExceptionHandler(InvalidEmployeeDataException.class)
+    @ResponseBody
+    public ResponseEntity<Object> handleInvalidEmployeeData(InvalidEmployeeDataException ex) {
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(ex.getErrors());
+    }
+
+    /**
+     * Handles ServiceOverloadedException, which occurs when a request is shed because the service
+     * is at its concurrency limit. The Retry-After header tells the client when to try again.
+     *
+     * @param ex the exception object
+     * @return a ResponseEntity containing the error message with a 503 Service Unavailable status
+     */
+    @ExceptionHandler(ServiceOverloadedException.class)
+    @ResponseBody
+    public ResponseEntity<Object> handleServiceOverloaded(ServiceOverloadedException ex) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(ex.getMessage());
+    }
+
+    /**
+     * Handles EmployeeVersionConflictException, which occurs when a partial update is based on
+     * a version of the employee that has been changed since.
+     *
+     * @param ex the exception object
+     * @return a ResponseEntity containing the error message with a 409 Conflict status
+     */
+    @ExceptionHandler(EmployeeVersionConflictException.class)
+    @ResponseBody
+    public ResponseEntity<Object> handleVersionConflict(EmployeeVersionConflictException ex) {
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(ex.getMessage());
+    }
+
+    /**
+     * Handles OptimisticLockingFailureException, which occurs when an employee is changed
+     * concurrently between being read and written back by a full update.
+     *
+     * @param ex the exception object
+     * @return a ResponseEntity containing the error message with a 409 Conflict status
+     */
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    @ResponseBody
+    public ResponseEntity<Object> handleOptimisticLockingFailure(OptimisticLockingFailureException ex) {
+        log.warn("Concurrent update rejected: {}", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.CONFLICT).body("The employee was changed concurrently, please retry");
+    }
+
     @ExceptionHandler(EmployeeDetailsNotFoundException.class)
     @ResponseBody
     public ResponseEntity<Object> handleUserNotFound(EmployeeDetailsNotFoundException ex) {
@@ -0,0 +1,35 @@
+package com.github.sneha.springboot_mysql_custom_queries.exception;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.List;
+
+/**
+ * Custom exception class for handling validation failures of employees that are not
+ * validated by Spring MVC itself, such as the entries of a bulk request.
+ * It carries one message per violated constraint and is translated into a 400 Bad Request
+ * by the GlobalExceptionHandler.
+ *
+ * @author sneharavikumartl
+ */
+@Slf4j
+@Getter
+public class InvalidEmployeeDataException extends RuntimeException {
+
+    /**
+     * The validation error messages, each prefixed with the path of the offending field.
+     */
+    private final List<String> errors;
+
+    /**
+     * Constructor for InvalidEmployeeDataException.
+     *
+     * @param errors the validation error messages
+     */
+    public InvalidEmployeeDataException(List<String> errors) {
+        super("Invalid employee data - " + errors);
+        this.errors = errors;
+        log.error(getMessage());
+    }
+}
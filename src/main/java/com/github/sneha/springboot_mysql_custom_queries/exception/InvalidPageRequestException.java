@@ -0,0 +1,28 @@
+package com.github.sneha.springboot_mysql_custom_queries.exception;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Custom exception class for handling invalid pagination requests.
+ * This exception is thrown when a continuation token cannot be decoded or the page size is invalid.
+ * It is annotated with @ResponseStatus to return a 400 Bad Request status automatically.
+ *
+ * @author sneharavikumartl
+ */
+@Slf4j
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class InvalidPageRequestException extends RuntimeException {
+
+    /**
+     * Constructor for InvalidPageRequestException.
+     * This constructor takes a message string that will be logged and passed to the parent exception class.
+     *
+     * @param message the detail message explaining the cause of the exception
+     */
+    public InvalidPageRequestException(String message) {
+        super(message);
+        log.error(message);
+    }
+}
@@ -0,0 +1,58 @@
+package com.github.sneha.springboot_mysql_custom_queries.exception;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Custom exception class for handling requests that are shed because the service is at its concurrency limit.
+ * This exception is thrown when a request cannot get a database permit within the configured wait time,
+ * when its endpoint group is at its adaptive concurrency limit, and by searches and salary analytics
+ * while the in-memory data serving them is still being loaded.
+ * It is annotated with @ResponseStatus to return a 503 Service Unavailable status automatically;
+ * GlobalExceptionHandler adds the Retry-After header.
+ *
+ * @author sneharavikumartl
+ */
+@Slf4j
+@Getter
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class ServiceOverloadedException extends RuntimeException {
+
+    private static final long REPORT_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(10);
+
+    private static final AtomicLong NEXT_REPORT = new AtomicLong(System.nanoTime());
+
+    private static final LongAdder UNREPORTED = new LongAdder();
+
+    /**
+     * The number of seconds after which the client may retry.
+     */
+    private final long retryAfterSeconds;
+
+    /**
+     * Constructor for ServiceOverloadedException.
+     * This constructor takes a message string that will be logged and passed to the parent exception class.
+     * Requests are shed in bursts when the service is overloaded, so at most one is logged every 10 seconds,
+     * together with the number shed since; the rejection counters of the bulkhead and the limiter count all of them.
+     *
+     * @param message           the detail message explaining the cause of the exception
+     * @param retryAfterSeconds the number of seconds after which the client may retry
+     */
+    public ServiceOverloadedException(String message, long retryAfterSeconds) {
+        super(message, null, false, false); // No stack trace, the cause is the load, not the caller
+        this.retryAfterSeconds = retryAfterSeconds;
+        long now = System.nanoTime();
+        long nextReport = NEXT_REPORT.get();
+        if (now - nextReport >= 0 && NEXT_REPORT.compareAndSet(nextReport, now + REPORT_INTERVAL_NANOS)) {
+            log.warn("{}; {} more requests shed since the last report", message, UNREPORTED.sumThenReset());
+        } else {
+            UNREPORTED.increment();
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.github.sneha.springboot_mysql_custom_queries.importer;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AccessLevel;
+import lombok.Getter;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Progress and outcome of one CSV import. Updated by the import while it runs, and returned
+ * by the import endpoint and the imports actuator endpoint.
+ *
+ * @author sneharavikumartl
+ */
+@Getter
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class EmployeeImport {
+
+    /**
+     * The state of an import.
+     */
+    public enum State {
+        RUNNING, COMPLETED, FAILED
+    }
+
+    private final String importId;
+
+    private final Instant startedAt = Instant.now();
+
+    private volatile Instant finishedAt;
+
+    private volatile State state = State.RUNNING;
+
+    /**
+     * Why the import stopped early, if it failed.
+     */
+    private volatile String failure;
+
+    @Getter(AccessLevel.NONE)
+    private final int maxReportedErrors;
+
+    private final LongAdder rowsRead = new LongAdder();
+
+    private final LongAdder rowsImported = new LongAdder();
+
+    private final LongAdder rowsRejected = new LongAdder();
+
+    /**
+     * The first rejected rows, up to maxReportedErrors of them.
+     */
+    private final List<ImportRowError> errors = new CopyOnWriteArrayList<>();
+
+    EmployeeImport(String importId, int maxReportedErrors) {
+        this.importId = importId;
+        this.maxReportedErrors = maxReportedErrors;
+    }
+
+    public long getRowsRead() {
+        return rowsRead.sum();
+    }
+
+    public long getRowsImported() {
+        return rowsImported.sum();
+    }
+
+    public long getRowsRejected() {
+        return rowsRejected.sum();
+    }
+
+    /**
+     * Rows imported per second since the import started.
+     *
+     * @return the throughput
+     */
+    public double getRowsPerSecond() {
+        Instant end = finishedAt == null ? Instant.now() : finishedAt;
+        double seconds = Duration.between(startedAt, end).toNanos() / 1e9;
+        return seconds == 0 ? 0 : rowsImported.sum() / seconds;
+    }
+
+    void rowRead() {
+        rowsRead.increment();
+    }
+
+    void imported(int rows) {
+        rowsImported.add(rows);
+    }
+
+    void rejected(ImportRowError error) {
+        rowsRejected.increment();
+        if (errors.size() < maxReportedErrors) {
+            errors.add(error);
+        }
+    }
+
+    void completed() {
+        finishedAt = Instant.now();
+        state = State.COMPLETED;
+    }
+
+    void failed(String failure) {
+        this.failure = failure;
+        finishedAt = Instant.now();
+        state = State.FAILED;
+    }
+}
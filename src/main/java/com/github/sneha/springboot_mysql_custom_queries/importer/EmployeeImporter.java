@@ -0,0 +1,308 @@
+package com.github.sneha.springboot_mysql_custom_queries.importer;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvParser;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import com.github.sneha.springboot_mysql_custom_queries.model.Employee;
+import com.github.sneha.springboot_mysql_custom_queries.service.EmployeeService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import jakarta.validation.groups.Default;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Imports employees from CSV files with a header row naming the Employee properties
+ * (employeeName, email, phoneNumber, address, salary, dept); other columns are ignored.
+ *
+ * The file is read as a stream and processed in chunks. Reading, validation and writing overlap:
+ * the request thread parses a chunk and hands it to a pool of validation threads, which check every
+ * row against the Employee constraints, and then writes the oldest validated chunk with batched
+ * inserts in its own transaction. At most max-pending-chunks chunks are read ahead of the writer,
+ * so memory use does not depend on the size of the file.
+ *
+ * Invalid rows, and rows the database rejects (e.g. an email that is already taken), are counted
+ * and reported instead of failing the import. A chunk the database rejects is retried row by row,
+ * so that only the offending rows are lost.
+ *
+ * @author sneharavikumartl
+ */
+@Component
+@Slf4j
+public class EmployeeImporter {
+
+    private final EmployeeService employeeService;
+
+    private final Validator validator;
+
+    private final ObjectReader csvReader;
+
+    private final ExecutorService validationExecutor;
+
+    private final int chunkSize;
+
+    private final int maxPendingChunks;
+
+    private final int maxReportedErrors;
+
+    private final int history;
+
+    private final AtomicLong importSequence = new AtomicLong();
+
+    /**
+     * The running imports and the most recent finished ones, oldest first.
+     */
+    private final Deque<EmployeeImport> imports = new ConcurrentLinkedDeque<>();
+
+    private final Counter rowsImported;
+
+    private final Counter rowsRejected;
+
+    public EmployeeImporter(EmployeeService employeeService,
+                            Validator validator,
+                            MeterRegistry meterRegistry,
+                            @Value("${employee.import.chunk-size}") int chunkSize,
+                            @Value("${employee.import.validation-threads}") int validationThreads,
+                            @Value("${employee.import.max-pending-chunks}") int maxPendingChunks,
+                            @Value("${employee.import.max-reported-errors}") int maxReportedErrors,
+                            @Value("${employee.import.history}") int history) {
+        this.employeeService = employeeService;
+        this.validator = validator;
+        this.chunkSize = chunkSize;
+        this.maxPendingChunks = maxPendingChunks;
+        this.maxReportedErrors = maxReportedErrors;
+        this.history = history;
+        this.csvReader = CsvMapper.builder()
+                .enable(CsvParser.Feature.TRIM_SPACES)
+                .enable(CsvParser.Feature.SKIP_EMPTY_LINES)
+                .enable(CsvParser.Feature.EMPTY_STRING_AS_NULL)  // Empty cells are missing values, as in JSON
+                .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+                .build()
+                .readerFor(Employee.class)
+                .with(CsvSchema.emptySchema().withHeader());
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.validationExecutor = Executors.newFixedThreadPool(validationThreads, runnable -> {
+            Thread thread = new Thread(runnable, "employee-import-validation-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.rowsImported = Counter.builder("employee.import.rows")
+                .tag("outcome", "imported")
+                .description("CSV rows imported as employees")
+                .register(meterRegistry);
+        this.rowsRejected = Counter.builder("employee.import.rows")
+                .tag("outcome", "rejected")
+                .description("CSV rows rejected as invalid or by the database")
+                .register(meterRegistry);
+        Gauge.builder("employee.import.active", imports, running -> running.stream().filter(i -> i.getState() == EmployeeImport.State.RUNNING).count())
+                .description("Number of CSV imports in progress")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Imports the employees of a CSV file.
+     *
+     * @param csv the CSV file, read once from start to end
+     * @return the outcome of the import, with the rejected rows
+     */
+    public EmployeeImport importEmployees(InputStream csv) {
+        EmployeeImport employeeImport = register();
+        Deque<Future<List<ImportRow>>> pending = new ArrayDeque<>();
+        try (MappingIterator<Employee> rows = csvReader.readValues(csv)) {
+            long rowNumber = 0;
+            List<ImportRow> chunk = new ArrayList<>(chunkSize);
+            while (rows.hasNextValue()) {
+                rowNumber++;
+                employeeImport.rowRead();
+                try {
+                    chunk.add(new ImportRow(rowNumber, rows.nextValue()));
+                } catch (JsonProcessingException e) {
+                    // Kept in the chunk so that the report lists rejected rows in file order
+                    ImportRow unparsable = new ImportRow(rowNumber, null);
+                    unparsable.errors.add(e.getOriginalMessage());
+                    chunk.add(unparsable);
+                }
+                if (chunk.size() == chunkSize) {
+                    submit(chunk, pending, employeeImport);
+                    chunk = new ArrayList<>(chunkSize);
+                }
+            }
+            if (!chunk.isEmpty()) {
+                submit(chunk, pending, employeeImport);
+            }
+            while (!pending.isEmpty()) {
+                write(pending.poll(), employeeImport);
+            }
+            employeeImport.completed();
+            log.info("Import {} completed: {} rows imported, {} rejected, {} rows/s", employeeImport.getImportId(),
+                    employeeImport.getRowsImported(), employeeImport.getRowsRejected(), Math.round(employeeImport.getRowsPerSecond()));
+        } catch (IOException e) {
+            fail(employeeImport, pending, "Could not read the CSV file: " + e.getMessage());
+            throw new UncheckedIOException(e);
+        } catch (RuntimeException e) {
+            fail(employeeImport, pending, e.getMessage());
+            throw e;
+        }
+        return employeeImport;
+    }
+
+    /**
+     * The running imports and the most recent finished ones.
+     *
+     * @return the imports, oldest first
+     */
+    public List<EmployeeImport> getImports() {
+        return List.copyOf(imports);
+    }
+
+    /**
+     * Looks up a running or recently finished import.
+     *
+     * @param importId the ID of the import
+     * @return the import, or an empty Optional if it is unknown or has been forgotten
+     */
+    public Optional<EmployeeImport> getImport(String importId) {
+        return imports.stream().filter(i -> i.getImportId().equals(importId)).findFirst();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        validationExecutor.shutdownNow();
+    }
+
+    private EmployeeImport register() {
+        EmployeeImport employeeImport = new EmployeeImport(String.valueOf(importSequence.incrementAndGet()), maxReportedErrors);
+        imports.add(employeeImport);
+        int finished = (int) imports.stream().filter(i -> i.getState() != EmployeeImport.State.RUNNING).count();
+        for (Iterator<EmployeeImport> oldest = imports.iterator(); oldest.hasNext() && finished > history; ) {
+            if (oldest.next().getState() != EmployeeImport.State.RUNNING) {
+                oldest.remove();
+                finished--;
+            }
+        }
+        return employeeImport;
+    }
+
+    /**
+     * Hands a chunk to the validation threads. When max-pending-chunks chunks are waiting,
+     * the oldest one is written first, which holds off reading until the database has caught up.
+     */
+    private void submit(List<ImportRow> chunk, Deque<Future<List<ImportRow>>> pending, EmployeeImport employeeImport) {
+        pending.add(validationExecutor.submit(() -> validate(chunk)));
+        if (pending.size() >= maxPendingChunks) {
+            write(pending.poll(), employeeImport);
+        }
+    }
+
+    private List<ImportRow> validate(List<ImportRow> chunk) {
+        for (ImportRow row : chunk) {
+            if (row.employee == null) {
+                continue;
+            }
+            for (ConstraintViolation<Employee> violation : validator.validate(row.employee, Default.class, Employee.Creation.class)) {
+                row.errors.add(violation.getPropertyPath() + ": " + violation.getMessage());
+            }
+        }
+        return chunk;
+    }
+
+    private void write(Future<List<ImportRow>> validatedChunk, EmployeeImport employeeImport) {
+        List<ImportRow> chunk;
+        try {
+            chunk = validatedChunk.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Import interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Validation failed: " + e.getCause().getMessage(), e.getCause());
+        }
+        List<ImportRow> valid = new ArrayList<>(chunk.size());
+        for (ImportRow row : chunk) {
+            if (row.errors.isEmpty()) {
+                valid.add(row);
+            } else {
+                reject(employeeImport, new ImportRowError(row.rowNumber, row.errors));
+            }
+        }
+        if (valid.isEmpty()) {
+            return;
+        }
+        try {
+            employeeService.createValidatedEmployees(valid.stream().map(row -> row.employee).toList());
+            imported(employeeImport, valid.size());
+        } catch (DataIntegrityViolationException e) {
+            // Find the offending rows; the others of the chunk are still imported
+            for (ImportRow row : valid) {
+                row.employee.setVersion(null);  // Set by the rolled back insert, would make the employee look detached
+                try {
+                    employeeService.createValidatedEmployees(List.of(row.employee));
+                    imported(employeeImport, 1);
+                } catch (DataIntegrityViolationException rowException) {
+                    String reason = rowException.getMostSpecificCause().getMessage().lines().findFirst().orElse("");
+                    reject(employeeImport, new ImportRowError(row.rowNumber, List.of("Rejected by the database: " + reason)));
+                }
+            }
+        }
+    }
+
+    private void imported(EmployeeImport employeeImport, int rows) {
+        employeeImport.imported(rows);
+        rowsImported.increment(rows);
+    }
+
+    private void reject(EmployeeImport employeeImport, ImportRowError error) {
+        employeeImport.rejected(error);
+        rowsRejected.increment();
+    }
+
+    private void fail(EmployeeImport employeeImport, Deque<Future<List<ImportRow>>> pending, String failure) {
+        pending.forEach(chunk -> chunk.cancel(true));
+        employeeImport.failed(failure);
+        log.error("Import {} failed after {} rows: {}", employeeImport.getImportId(), employeeImport.getRowsRead(), failure);
+    }
+
+    /**
+     * A CSV row and the constraints it violates, filled in by the validation threads.
+     * Rows that could not be parsed have no employee and carry the parse error.
+     */
+    private static final class ImportRow {
+
+        private final long rowNumber;
+
+        private final Employee employee;
+
+        private final List<String> errors = new ArrayList<>(0);
+
+        private ImportRow(long rowNumber, Employee employee) {
+            this.rowNumber = rowNumber;
+            this.employee = employee;
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.github.sneha.springboot_mysql_custom_queries.importer;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Actuator endpoint showing the progress of running CSV imports and the outcome of recent ones,
+ * at /actuator/imports and /actuator/imports/{importId}. Row totals across all imports are
+ * published as the employee.import.rows metric.
+ *
+ * @author sneharavikumartl
+ */
+@Component
+@Endpoint(id = "imports")
+public class EmployeeImportsEndpoint {
+
+    private final EmployeeImporter employeeImporter;
+
+    public EmployeeImportsEndpoint(EmployeeImporter employeeImporter) {
+        this.employeeImporter = employeeImporter;
+    }
+
+    @ReadOperation
+    public List<EmployeeImport> imports() {
+        return employeeImporter.getImports();
+    }
+
+    @ReadOperation
+    public EmployeeImport importById(@Selector String importId) {
+        return employeeImporter.getImport(importId).orElse(null);
+    }
+}
@@ -0,0 +1,26 @@
+package com.github.sneha.springboot_mysql_custom_queries.importer;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * A CSV row that was not imported, and why.
+ *
+ * @author sneharavikumartl
+ */
+@Getter
+@AllArgsConstructor
+public class ImportRowError {
+
+    /**
+     * The number of the data row in the file, starting at 1 for the row after the header.
+     */
+    private final long row;
+
+    /**
+     * The reasons the row was rejected, e.g. the violated constraints.
+     */
+    private final List<String> errors;
+}
@@ -0,0 +1,317 @@
+package com.github.sneha.springboot_mysql_custom_queries.index;
+
+import com.github.sneha.springboot_mysql_custom_queries.event.EmployeeChangedEvent;
+import com.github.sneha.springboot_mysql_custom_queries.model.EmployeeNameMatch;
+import com.github.sneha.springboot_mysql_custom_queries.repository.EmployeeRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * In-memory index of the employee names, by department and sorted for type-ahead searches.
+ * It is loaded from the database once the application is ready and kept up to date through
+ * EmployeeChangedEvents, so department lookups and name searches never have to query the database.
+ * Both are answered from the same EmployeeNames, so every employee is held once.
+ *
+ * Departments are matched case-insensitively, like MySQL's default collation does.
+ * Until the initial load has completed, lookups and searches return an empty Optional.
+ *
+ * The index also versions the employee names it holds, in total and per department, so that
+ * clients polling the name lists can be told that nothing has changed without building the lists.
+ * A version is only valid for the snapshot that issued it; every reload starts a new generation.
+ *
+ * @author sneharavikumartl
+ */
+@Component
+@Slf4j
+public class DepartmentIndex {
+
+    private final EmployeeRepository employeeRepository;
+
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * Guards all modifications. Reads do not lock, the maps are concurrent.
+     * Locks rather than monitors, so that virtual threads waiting for them are not pinned to their carrier.
+     */
+    private final ReentrantLock lock = new ReentrantLock();
+
+    /**
+     * Serializes loads, so that at most one collects pending events at a time.
+     */
+    private final ReentrantLock loadLock = new ReentrantLock();
+
+    private volatile Snapshot snapshot = new Snapshot();
+
+    private volatile boolean ready;
+
+    /**
+     * Changes received while a load is running. They are replayed on the freshly loaded snapshot,
+     * since the database rows read by the load may predate them. Null when no load is running.
+     */
+    private List<EmployeeChangedEvent> pendingEvents;
+
+    public DepartmentIndex(EmployeeRepository employeeRepository, TransactionTemplate transactionTemplate, MeterRegistry meterRegistry) {
+        this.employeeRepository = employeeRepository;
+        this.transactionTemplate = transactionTemplate;
+        Gauge.builder("employee.department.index.memory", this, DepartmentIndex::estimatedMemoryBytes)
+                .description("Estimated heap used by the in-memory department index")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        Gauge.builder("employee.department.index.size", this, index -> index.snapshot.names.size())
+                .description("Number of employees in the in-memory department index")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Loads the index from the database. Called once the application is ready, and again
+     * whenever the index needs to be rebuilt; lookups keep being served from the previous
+     * snapshot while a reload is running.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        loadLock.lock();
+        try {
+            lock.lock();
+            try {
+                pendingEvents = new ArrayList<>();
+            } finally {
+                lock.unlock();
+            }
+            Snapshot loaded = new Snapshot();
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    try (var employees = employeeRepository.streamAllEmployeeSummaries()) {
+                        employees.forEach(employee -> loaded.put(employee.getEmployeeId(), employee.getEmployeeName(), employee.getDept()));
+                    }
+                });
+            } catch (RuntimeException e) {
+                lock.lock();
+                try {
+                    pendingEvents = null;
+                } finally {
+                    lock.unlock();
+                }
+                throw e;
+            }
+            lock.lock();
+            try {
+                pendingEvents.forEach(loaded::apply);
+                pendingEvents = null;
+                snapshot = loaded;
+                ready = true;
+            } finally {
+                lock.unlock();
+            }
+            log.info("Department index loaded with {} employees in {} departments, about {} MB",
+                    loaded.names.size(), loaded.names.departmentCount(), loaded.names.estimatedBytes() >> 20);
+        } finally {
+            loadLock.unlock();
+        }
+    }
+
+    /**
+     * Applies a committed employee change to the index.
+     *
+     * @param event the change
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEmployeeChanged(EmployeeChangedEvent event) {
+        lock.lock();
+        try {
+            snapshot.apply(event);
+            if (pendingEvents != null) {
+                pendingEvents.add(event);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Retrieves the names of all employees, in alphabetical order.
+     *
+     * @return the names, or an empty Optional if the index has not been loaded yet
+     */
+    public Optional<List<String>> findAllEmployeeNames() {
+        if (!ready) {
+            return Optional.empty();
+        }
+        return Optional.of(snapshot.names.names());
+    }
+
+    /**
+     * Retrieves the names of the employees in a department.
+     *
+     * @param department the department name
+     * @return the names, which are empty if the department has no employees,
+     * or an empty Optional if the index has not been loaded yet
+     */
+    public Optional<List<String>> findEmployeeNames(String department) {
+        if (!ready) {
+            return Optional.empty();
+        }
+        return Optional.of(snapshot.names.names(department));
+    }
+
+    /**
+     * Counts the employees in a department. The count is maintained along with the index,
+     * so this does not touch the database.
+     *
+     * @param department the department name
+     * @return the number of employees, or an empty Optional if the index has not been loaded yet
+     */
+    public Optional<Long> countEmployees(String department) {
+        if (!ready) {
+            return Optional.empty();
+        }
+        return Optional.of((long) snapshot.names.departmentSize(department));
+    }
+
+    /**
+     * Counts the employees of every department held by the index.
+     *
+     * @return the number of employees per lower-cased department name
+     */
+    public Map<String, Long> countEmployeesByDepartment() {
+        return snapshot.names.departmentSizes();
+    }
+
+    /**
+     * Finds the employees whose names start with a prefix, ignoring case, in alphabetical order.
+     *
+     * @param prefix     the start of the name
+     * @param department the department to search in, or null to search all departments
+     * @param limit      the maximum number of matches to return
+     * @return the first matches, or an empty Optional if the index has not been loaded yet
+     */
+    public Optional<List<EmployeeNameMatch>> searchEmployees(String prefix, String department, int limit) {
+        if (!ready) {
+            return Optional.empty();
+        }
+        return Optional.of(snapshot.names.search(prefix, department, limit));
+    }
+
+    /**
+     * Whether the initial load has completed.
+     *
+     * @return true if lookups are served from memory
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Estimates the heap used by the index.
+     *
+     * @return the estimated size in bytes
+     */
+    public long estimatedMemoryBytes() {
+        return snapshot.names.estimatedBytes();
+    }
+
+    /**
+     * The version of the names of all employees, which changes whenever an employee is added,
+     * removed, renamed or moved to another department.
+     *
+     * @return the version, or an empty Optional if the index has not been loaded yet
+     */
+    public Optional<String> namesVersion() {
+        if (!ready) {
+            return Optional.empty();
+        }
+        Snapshot current = snapshot;
+        return Optional.of(current.generation + "-" + current.version);
+    }
+
+    /**
+     * The version of the names of the employees in a department, which changes whenever
+     * an employee joins or leaves the department or is renamed.
+     *
+     * @param department the department name
+     * @return the version, or an empty Optional if the index has not been loaded yet
+     * or has never held an employee of the department
+     */
+    public Optional<String> namesVersion(String department) {
+        if (!ready) {
+            return Optional.empty();
+        }
+        Snapshot current = snapshot;
+        Long version = current.versionByDepartment.get(key(department));
+        return version == null ? Optional.empty() : Optional.of(current.generation + "-" + version);
+    }
+
+    static String key(String department) {
+        return department.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * One generation of the index. Modified only while holding the lock.
+     */
+    private static final class Snapshot {
+
+        private final EmployeeNames names = new EmployeeNames();
+
+        /**
+         * Identifies the snapshot in versions, so that versions of different snapshots,
+         * also of earlier runs of the application, never compare equal.
+         */
+        private final String generation = Long.toHexString(ThreadLocalRandom.current().nextLong());
+
+        private volatile long version;
+
+        /**
+         * Kept when a department becomes empty, so that its version does not start over.
+         */
+        private final Map<String, Long> versionByDepartment = new ConcurrentHashMap<>();
+
+        void apply(EmployeeChangedEvent event) {
+            switch (event.getType()) {
+                case CREATED, UPDATED -> put(event.getEmployeeId(), event.getEmployeeName(), event.getDepartment());
+                case DELETED -> remove(event.getEmployeeId());
+            }
+        }
+
+        /**
+         * Adds, renames or moves an employee. A null name or department keeps the current value.
+         */
+        void put(UUID employeeId, String employeeName, String department) {
+            String before = names.department(employeeId);
+            if (!names.put(employeeId, employeeName, department)) {
+                return;
+            }
+            String after = key(names.department(employeeId));
+            if (before != null && !key(before).equals(after)) {
+                changed(key(before));
+            }
+            changed(after);
+        }
+
+        void remove(UUID employeeId) {
+            String department = names.department(employeeId);
+            if (names.remove(employeeId)) {
+                changed(key(department));
+            }
+        }
+
+        private void changed(String departmentKey) {
+            version++;
+            versionByDepartment.merge(departmentKey, 1L, Long::sum);
+        }
+    }
+}
@@ -0,0 +1,196 @@
+package com.github.sneha.springboot_mysql_custom_queries.index;
+
+import com.github.sneha.springboot_mysql_custom_queries.event.EmployeeChangedEvent;
+import com.github.sneha.springboot_mysql_custom_queries.model.DepartmentCount;
+import com.github.sneha.springboot_mysql_custom_queries.repository.EmployeeRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Maintains the total number of employees in memory, so that counting does not need a COUNT(*)
+ * (a full index scan on InnoDB) per request. The counter is seeded from the database once the
+ * application is ready and adjusted by EmployeeChangedEvents.
+ *
+ * Per-department counts are maintained by the DepartmentIndex. Both are reconciled with the
+ * database periodically; the drift found by the last reconciliation is published as a metric.
+ * The counts are always taken on the primary, since the maintained counts follow its commits
+ * and a lagging replica would make them look drifted.
+ *
+ * @author sneharavikumartl
+ */
+@Component
+@Slf4j
+public class EmployeeCounter {
+
+    /**
+     * How often a count is taken at most while employees keep changing during it.
+     */
+    private static final int COUNT_ATTEMPTS = 3;
+
+    private final EmployeeRepository employeeRepository;
+
+    private final DepartmentIndex departmentIndex;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final LongAdder total = new LongAdder();
+
+    private volatile boolean seeded;
+
+    private final AtomicLong lastTotalDrift = new AtomicLong();
+
+    private final AtomicLong lastDepartmentDrift = new AtomicLong();
+
+    public EmployeeCounter(EmployeeRepository employeeRepository, DepartmentIndex departmentIndex,
+                           TransactionTemplate transactionTemplate, MeterRegistry meterRegistry) {
+        this.employeeRepository = employeeRepository;
+        this.departmentIndex = departmentIndex;
+        this.transactionTemplate = transactionTemplate;
+        Gauge.builder("employee.count.total", total, LongAdder::sum)
+                .description("Maintained total number of employees")
+                .register(meterRegistry);
+        Gauge.builder("employee.count.drift", lastTotalDrift, AtomicLong::get)
+                .description("Difference between the maintained and the actual total found by the last reconciliation")
+                .register(meterRegistry);
+        Gauge.builder("employee.count.department.drift", lastDepartmentDrift, AtomicLong::get)
+                .description("Sum of the per-department count differences found by the last reconciliation")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Seeds the counter from the database once the application is ready.
+     * Changes are counted from the start, so the counter is set to the database count rather than
+     * incremented by it; changes already included in the count are not counted twice. As in
+     * {@link #reconcile()}, a count during which employees were created or deleted is repeated,
+     * and after the last attempt any difference is left to the next reconciliation.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void seed() {
+        for (int attempt = 1; ; attempt++) {
+            long before = total.sum();
+            long actual = countEmployees();
+            if (total.sum() == before || attempt == COUNT_ATTEMPTS) {
+                total.add(actual - before);
+                break;
+            }
+        }
+        seeded = true;
+    }
+
+    /**
+     * Adjusts the counter for a committed employee change.
+     *
+     * @param event the change
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEmployeeChanged(EmployeeChangedEvent event) {
+        switch (event.getType()) {
+            case CREATED -> total.increment();
+            case DELETED -> total.decrement();
+            case UPDATED -> {
+            }
+        }
+    }
+
+    /**
+     * Retrieves the total number of employees.
+     *
+     * @return the total, or an empty OptionalLong if the counter has not been seeded yet
+     */
+    public OptionalLong totalEmployees() {
+        return seeded ? OptionalLong.of(total.sum()) : OptionalLong.empty();
+    }
+
+    /**
+     * Compares the maintained counts with the database and corrects them.
+     * The total is adjusted by the drift; if any department count is off, the department index is reloaded.
+     * A reconciliation is skipped for the total when employees were created or deleted while counting,
+     * since the difference could then just be a change in flight. The departments are counted again when
+     * the index changed while counting, and left to the next reconciliation if it keeps changing, so that
+     * a change in flight does not reload the whole index.
+     */
+    @Scheduled(initialDelayString = "${employee.count.resync-interval}", fixedDelayString = "${employee.count.resync-interval}")
+    public void reconcile() {
+        if (seeded) {
+            long before = total.sum();
+            long actual = countEmployees();
+            if (total.sum() == before) {
+                long drift = before - actual;
+                lastTotalDrift.set(drift);
+                if (drift != 0) {
+                    total.add(-drift);
+                    log.warn("Employee count drifted by {}, corrected to {}", drift, actual);
+                }
+            }
+        }
+        if (departmentIndex.isReady()) {
+            OptionalLong drift = departmentDrift();
+            if (drift.isPresent()) {
+                lastDepartmentDrift.set(drift.getAsLong());
+                if (drift.getAsLong() != 0) {
+                    log.warn("Department counts drifted by {}, reloading the department index", drift.getAsLong());
+                    departmentIndex.load();
+                }
+            }
+        }
+    }
+
+    /**
+     * Counts the employees in a read-write transaction, which the repository's read-only one joins,
+     * so that the count runs on the primary.
+     */
+    private long countEmployees() {
+        return transactionTemplate.execute(status -> employeeRepository.count());
+    }
+
+    /**
+     * Compares the department counts while the department index does not change, which its names version tells.
+     *
+     * @return the drift, or an empty OptionalLong if the index changed during every attempt
+     */
+    private OptionalLong departmentDrift() {
+        for (int attempt = 1; attempt <= COUNT_ATTEMPTS; attempt++) {
+            Optional<String> before = departmentIndex.namesVersion();
+            long drift = countDepartmentDrift();
+            if (departmentIndex.namesVersion().equals(before)) {
+                return OptionalLong.of(drift);
+            }
+        }
+        return OptionalLong.empty();
+    }
+
+    /**
+     * Sums the absolute differences between the counts held by the department index and the database.
+     * The database is counted on the primary, like the total.
+     */
+    private long countDepartmentDrift() {
+        Map<String, Long> maintained = departmentIndex.countEmployeesByDepartment();
+        Map<String, Long> actual = new HashMap<>();
+        for (DepartmentCount count : transactionTemplate.execute(status -> employeeRepository.countEmployeesByDepartment())) {
+            actual.merge(DepartmentIndex.key(count.getDept()), count.getEmployeeCount(), Long::sum);
+        }
+        Set<String> departments = new HashSet<>(maintained.keySet());
+        departments.addAll(actual.keySet());
+        long drift = 0;
+        for (String department : departments) {
+            drift += Math.abs(maintained.getOrDefault(department, 0L) - actual.getOrDefault(department, 0L));
+        }
+        return drift;
+    }
+}
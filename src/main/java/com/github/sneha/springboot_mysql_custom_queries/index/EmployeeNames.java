@@ -0,0 +1,273 @@
+package com.github.sneha.springboot_mysql_custom_queries.index;
+
+import com.github.sneha.springboot_mysql_custom_queries.model.EmployeeNameMatch;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * Employee names sorted case-insensitively, in total and per department, for prefix searches.
+ * A search seeks to the first name at or after the prefix and walks forward until a name no longer
+ * starts with it, so it costs O(log n + limit) however many employees there are.
+ *
+ * The names are held in concurrent skip lists rather than a sorted array, so that a single change
+ * costs O(log n) instead of shifting the array. Changes must be made by one thread at a time;
+ * searches and lookups do not lock and may run concurrently with them.
+ *
+ * They are the employees held by the DepartmentIndex, which also answers its department lookups from them.
+ *
+ * @author sneharavikumartl
+ */
+public class EmployeeNames {
+
+    /**
+     * Approximate heap cost of one employee besides the characters of its name, measured with JOL
+     * (see EmployeeNameSearchBenchmark): the entry, the name and its lower-cased copy, the UUID,
+     * the nodes of both skip lists and the entry in the id map. Each character takes one byte in
+     * the name and one in the copy.
+     */
+    static final long ENTRY_OVERHEAD_BYTES = 264;
+
+    private static final UUID LOWEST_ID = new UUID(Long.MIN_VALUE, Long.MIN_VALUE);
+
+    private final NavigableSet<Entry> all = new ConcurrentSkipListSet<>();
+
+    private final Map<String, Department> byDepartment = new ConcurrentHashMap<>();
+
+    private final Map<UUID, Entry> byId = new ConcurrentHashMap<>();
+
+    private volatile long estimatedBytes;
+
+    /**
+     * Adds an employee, or renames or moves it. A null name or department keeps the current value.
+     *
+     * @param employeeId   the ID of the employee
+     * @param employeeName the name of the employee
+     * @param department   the department of the employee
+     * @return true if the employee was added, renamed or moved
+     */
+    public boolean put(UUID employeeId, String employeeName, String department) {
+        Entry current = byId.get(employeeId);
+        if (current != null) {
+            employeeName = employeeName == null ? current.employeeName : employeeName;
+            department = department == null ? current.dept : department;
+            if (employeeName.equals(current.employeeName) && department.equals(current.dept)) {
+                return false;
+            }
+        }
+        if (employeeName == null || department == null) {
+            return false;
+        }
+        remove(employeeId);
+        String name = department;
+        Department members = byDepartment.computeIfAbsent(DepartmentIndex.key(department), d -> new Department(name));
+        Entry entry = new Entry(employeeId, employeeName, department.equals(members.name) ? members.name : department);
+        all.add(entry);
+        members.entries.add(entry);
+        members.size++;
+        byId.put(employeeId, entry);
+        estimatedBytes += ENTRY_OVERHEAD_BYTES + 2L * employeeName.length();
+        return true;
+    }
+
+    /**
+     * Removes an employee, if present. A department is dropped together with its last employee.
+     *
+     * @param employeeId the ID of the employee
+     * @return true if the employee was present
+     */
+    public boolean remove(UUID employeeId) {
+        Entry entry = byId.remove(employeeId);
+        if (entry == null) {
+            return false;
+        }
+        all.remove(entry);
+        String departmentKey = DepartmentIndex.key(entry.dept);
+        Department members = byDepartment.get(departmentKey);
+        members.entries.remove(entry);
+        if (--members.size == 0) {
+            byDepartment.remove(departmentKey);
+        }
+        estimatedBytes -= ENTRY_OVERHEAD_BYTES + 2L * entry.employeeName.length();
+        return true;
+    }
+
+    /**
+     * The department of an employee.
+     *
+     * @param employeeId the ID of the employee
+     * @return the department, or null if the employee is not present
+     */
+    public String department(UUID employeeId) {
+        Entry entry = byId.get(employeeId);
+        return entry == null ? null : entry.dept;
+    }
+
+    /**
+     * The names of all employees, in alphabetical order.
+     *
+     * @return the names
+     */
+    public List<String> names() {
+        List<String> names = new ArrayList<>(byId.size());
+        all.forEach(entry -> names.add(entry.employeeName));
+        return names;
+    }
+
+    /**
+     * The names of the employees in a department, in alphabetical order.
+     *
+     * @param department the department name, matched case-insensitively
+     * @return the names, empty if the department has no employees
+     */
+    public List<String> names(String department) {
+        Department members = byDepartment.get(DepartmentIndex.key(department));
+        if (members == null) {
+            return List.of();
+        }
+        List<String> names = new ArrayList<>(members.size);
+        members.entries.forEach(entry -> names.add(entry.employeeName));
+        return names;
+    }
+
+    /**
+     * The number of employees in a department.
+     *
+     * @param department the department name, matched case-insensitively
+     * @return the number of employees
+     */
+    public int departmentSize(String department) {
+        Department members = byDepartment.get(DepartmentIndex.key(department));
+        return members == null ? 0 : members.size;
+    }
+
+    /**
+     * The number of employees of every department.
+     *
+     * @return the number of employees per lower-cased department name
+     */
+    public Map<String, Long> departmentSizes() {
+        Map<String, Long> sizes = new HashMap<>();
+        byDepartment.forEach((department, members) -> sizes.put(department, (long) members.size));
+        return sizes;
+    }
+
+    /**
+     * The number of departments with at least one employee.
+     *
+     * @return the number of departments
+     */
+    public int departmentCount() {
+        return byDepartment.size();
+    }
+
+    /**
+     * Finds the employees whose names start with a prefix, ignoring case, in alphabetical order.
+     *
+     * @param prefix     the start of the name
+     * @param department the department to search in, or null to search all departments
+     * @param limit      the maximum number of matches to return
+     * @return the first matches
+     */
+    public List<EmployeeNameMatch> search(String prefix, String department, int limit) {
+        NavigableSet<Entry> names = all;
+        if (department != null) {
+            Department members = byDepartment.get(DepartmentIndex.key(department));
+            if (members == null) {
+                return List.of();
+            }
+            names = members.entries;
+        }
+        String folded = prefix.toLowerCase(Locale.ROOT);
+        List<EmployeeNameMatch> matches = new ArrayList<>(Math.min(limit, 16));
+        for (Entry entry : names.tailSet(new Entry(LOWEST_ID, folded), true)) {
+            if (matches.size() == limit || !entry.folded.startsWith(folded)) {
+                break;
+            }
+            matches.add(new EmployeeNameMatch(entry.employeeId, entry.employeeName, entry.dept));
+        }
+        return matches;
+    }
+
+    /**
+     * The number of employees held.
+     *
+     * @return the number of employees
+     */
+    public int size() {
+        return byId.size();
+    }
+
+    /**
+     * Estimates the heap used, including the names.
+     *
+     * @return the estimated size in bytes
+     */
+    public long estimatedBytes() {
+        return estimatedBytes;
+    }
+
+    /**
+     * The employees of a department. Its name is shared by the entries spelling the department the same way,
+     * and it is dropped with its last employee.
+     */
+    private static final class Department {
+
+        private final String name;
+
+        private final NavigableSet<Entry> entries = new ConcurrentSkipListSet<>();
+
+        /**
+         * The number of entries, which the skip list would have to count.
+         */
+        private volatile int size;
+
+        private Department(String name) {
+            this.name = name;
+        }
+    }
+
+    /**
+     * An employee, ordered by lower-cased name and then by ID, so that equal names do not collide.
+     */
+    private static final class Entry implements Comparable<Entry> {
+
+        private final UUID employeeId;
+
+        private final String employeeName;
+
+        private final String dept;
+
+        private final String folded;
+
+        private Entry(UUID employeeId, String employeeName, String dept) {
+            this.employeeId = employeeId;
+            this.employeeName = employeeName;
+            this.dept = dept;
+            this.folded = employeeName.toLowerCase(Locale.ROOT);
+        }
+
+        /**
+         * A search key, sorting before every entry whose name is the folded prefix or starts with it.
+         */
+        private Entry(UUID employeeId, String folded) {
+            this.employeeId = employeeId;
+            this.employeeName = null;
+            this.dept = null;
+            this.folded = folded;
+        }
+
+        @Override
+        public int compareTo(Entry other) {
+            int byName = folded.compareTo(other.folded);
+            return byName != 0 ? byName : employeeId.compareTo(other.employeeId);
+        }
+    }
+}
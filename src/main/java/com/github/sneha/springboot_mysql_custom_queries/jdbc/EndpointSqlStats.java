@@ -0,0 +1,118 @@
+package com.github.sneha.springboot_mysql_custom_queries.jdbc;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * JDBC statements, fetched rows and database time of all requests to one endpoint since startup,
+ * as published by the sqlstats actuator endpoint.
+ *
+ * @author sneharavikumartl
+ */
+public class EndpointSqlStats {
+
+    private final LongAdder requests = new LongAdder();
+
+    private final LongAdder statements = new LongAdder();
+
+    private final LongAccumulator maxStatements = new LongAccumulator(Math::max, 0);
+
+    private final LongAdder rowsFetched = new LongAdder();
+
+    private final LongAdder databaseNanos = new LongAdder();
+
+    private final LongAccumulator maxDatabaseNanos = new LongAccumulator(Math::max, 0);
+
+    private final LongAdder slowQueryRequests = new LongAdder();
+
+    private final LongAdder nPlusOneRequests = new LongAdder();
+
+    /**
+     * When the next slow query or N+1 report may be logged for this endpoint.
+     */
+    private final AtomicLong nextReport = new AtomicLong(System.nanoTime());
+
+    private final LongAdder unreportedRequests = new LongAdder();
+
+    void record(RequestStatements requestStatements, boolean slowQuery, boolean nPlusOne) {
+        requests.increment();
+        statements.add(requestStatements.getStatements());
+        maxStatements.accumulate(requestStatements.getStatements());
+        rowsFetched.add(requestStatements.getRowsFetched());
+        databaseNanos.add(requestStatements.getDatabaseNanos());
+        maxDatabaseNanos.accumulate(requestStatements.getDatabaseNanos());
+        if (slowQuery) {
+            slowQueryRequests.increment();
+        }
+        if (nPlusOne) {
+            nPlusOneRequests.increment();
+        }
+    }
+
+    /**
+     * Decides whether a report is logged for a request, allowing at most one per interval.
+     *
+     * @param intervalNanos the report interval
+     * @return the number of requests not reported since the last report, or -1 if this request is not to be reported
+     */
+    long claimReport(long intervalNanos) {
+        long now = System.nanoTime();
+        long next = nextReport.get();
+        if (now - next >= 0 && nextReport.compareAndSet(next, now + intervalNanos)) {
+            return unreportedRequests.sumThenReset();
+        }
+        unreportedRequests.increment();
+        return -1;
+    }
+
+    public long getRequests() {
+        return requests.sum();
+    }
+
+    public long getStatements() {
+        return statements.sum();
+    }
+
+    public double getStatementsPerRequest() {
+        long count = requests.sum();
+        return count == 0 ? 0 : (double) statements.sum() / count;
+    }
+
+    public long getMaxStatements() {
+        return maxStatements.get();
+    }
+
+    public long getRowsFetched() {
+        return rowsFetched.sum();
+    }
+
+    public double getRowsPerRequest() {
+        long count = requests.sum();
+        return count == 0 ? 0 : (double) rowsFetched.sum() / count;
+    }
+
+    public double getDatabaseTimeMillis() {
+        return databaseNanos.sum() / 1e6;
+    }
+
+    public double getDatabaseTimePerRequestMillis() {
+        long count = requests.sum();
+        return count == 0 ? 0 : databaseNanos.sum() / 1e6 / count;
+    }
+
+    public double getMaxDatabaseTimeMillis() {
+        return maxDatabaseNanos.get() / 1e6;
+    }
+
+    public long getSlowQueryRequests() {
+        return slowQueryRequests.sum();
+    }
+
+    @JsonProperty("nPlusOneRequests")
+    public long getNPlusOneRequests() {
+        return nPlusOneRequests.sum();
+    }
+}
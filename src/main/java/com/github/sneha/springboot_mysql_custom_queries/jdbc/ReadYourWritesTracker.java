@@ -0,0 +1,64 @@
+package com.github.sneha.springboot_mysql_custom_queries.jdbc;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.sneha.springboot_mysql_custom_queries.event.EmployeeChangedEvent;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.time.Duration;
+
+/**
+ * Remembers which clients have recently changed employees, so that their reads can be sent to the
+ * primary until the replicas have caught up. Clients are told apart by their remote address, which
+ * reflects X-Forwarded-For when server.forward-headers-strategy is set; work outside an HTTP request,
+ * such as scheduled jobs, has no client and never counts as a recent writer.
+ *
+ * The window is per application instance: a client whose next read is served by another instance
+ * may still read from a lagging replica.
+ *
+ * @author sneharavikumartl
+ */
+public class ReadYourWritesTracker {
+
+    private final Cache<String, Boolean> recentWriters;
+
+    public ReadYourWritesTracker(Duration window) {
+        this.recentWriters = Caffeine.newBuilder()
+                .expireAfterWrite(window)
+                .maximumSize(100_000)
+                .build();
+    }
+
+    /**
+     * Records a committed change made by the current client.
+     *
+     * @param event the change
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEmployeeChanged(EmployeeChangedEvent event) {
+        String client = currentClient();
+        if (client != null) {
+            recentWriters.put(client, Boolean.TRUE);
+        }
+    }
+
+    /**
+     * Whether the current client has changed an employee within the window.
+     *
+     * @return true if its reads should go to the primary
+     */
+    public boolean isRecentWriter() {
+        String client = currentClient();
+        return client != null && recentWriters.getIfPresent(client) != null;
+    }
+
+    private static String currentClient() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        return attributes instanceof ServletRequestAttributes servletAttributes
+                ? servletAttributes.getRequest().getRemoteAddr()
+                : null;
+    }
+}
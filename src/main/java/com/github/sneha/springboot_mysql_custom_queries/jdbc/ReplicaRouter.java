@@ -0,0 +1,167 @@
+package com.github.sneha.springboot_mysql_custom_queries.jdbc;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Owns the connection pools of the primary database and its read replicas, and picks the database
+ * for each read-only transaction. Reads are balanced round-robin over the healthy replicas and go
+ * to the primary instead when
+ * - the client changed an employee within the read-your-writes window, or
+ * - no replica is healthy.
+ *
+ * A replica is ejected as soon as it fails to hand out a connection, so that the next reads skip it,
+ * and taken back once the periodic health check can use it again. Statements that fail on a replica
+ * after the connection was obtained are not retried; the request fails as it would on the primary.
+ *
+ * @author sneharavikumartl
+ */
+@Slf4j
+public class ReplicaRouter implements Closeable {
+
+    private static final int VALIDATION_TIMEOUT_SECONDS = 1;
+
+    @Getter
+    private final HikariDataSource primary;
+
+    private final List<Replica> replicas;
+
+    private final ReadYourWritesTracker readYourWritesTracker;
+
+    /**
+     * The DataSource read-only transactions get their connections from.
+     */
+    @Getter
+    private final DataSource readDataSource = new ReadDataSource();
+
+    private final AtomicInteger nextReplica = new AtomicInteger();
+
+    private final Counter readYourWritesReads;
+
+    private final Counter fallbackReads;
+
+    public ReplicaRouter(HikariDataSource primary, List<HikariDataSource> replicaPools,
+                         ReadYourWritesTracker readYourWritesTracker, MeterRegistry meterRegistry) {
+        this.primary = primary;
+        this.readYourWritesTracker = readYourWritesTracker;
+        this.replicas = replicaPools.stream()
+                .map(pool -> new Replica(pool, readCounter(meterRegistry, pool.getPoolName(), "balanced")))
+                .toList();
+        this.readYourWritesReads = readCounter(meterRegistry, primary.getPoolName(), "read-your-writes");
+        this.fallbackReads = readCounter(meterRegistry, primary.getPoolName(), "no-healthy-replica");
+        Gauge.builder("employee.datasource.replicas.healthy", replicas, all -> all.stream().filter(replica -> replica.healthy).count())
+                .description("Number of read replicas currently receiving reads")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Checks every replica, ejecting those that cannot hand out a valid connection
+     * and taking back those that can again.
+     */
+    @Scheduled(fixedDelayString = "${employee.datasource.health-check-interval}")
+    public void checkHealth() {
+        for (Replica replica : replicas) {
+            boolean healthy;
+            try (Connection connection = replica.pool.getConnection()) {
+                healthy = connection.isValid(VALIDATION_TIMEOUT_SECONDS);
+            } catch (SQLException e) {
+                healthy = false;
+            }
+            if (healthy && !replica.healthy) {
+                replica.healthy = true;
+                log.info("Replica {} is healthy again and receives reads", replica.pool.getPoolName());
+            } else if (!healthy && replica.healthy) {
+                eject(replica, "health check failed");
+            }
+        }
+    }
+
+    /**
+     * Closes the connection pools.
+     */
+    @Override
+    public void close() {
+        replicas.forEach(replica -> replica.pool.close());
+        primary.close();
+    }
+
+    private Connection getReadConnection() throws SQLException {
+        if (readYourWritesTracker.isRecentWriter()) {
+            readYourWritesReads.increment();
+            return primary.getConnection();
+        }
+        int first = Math.floorMod(nextReplica.getAndIncrement(), replicas.size());
+        for (int i = 0; i < replicas.size(); i++) {
+            Replica replica = replicas.get((first + i) % replicas.size());
+            if (!replica.healthy) {
+                continue;
+            }
+            try {
+                Connection connection = replica.pool.getConnection();
+                replica.reads.increment();
+                return connection;
+            } catch (SQLException e) {
+                eject(replica, e.getMessage());
+            }
+        }
+        fallbackReads.increment();
+        return primary.getConnection();
+    }
+
+    private void eject(Replica replica, String reason) {
+        replica.healthy = false;
+        log.warn("Replica {} ejected, reads move to the other replicas or the primary: {}", replica.pool.getPoolName(), reason);
+    }
+
+    private static Counter readCounter(MeterRegistry meterRegistry, String target, String reason) {
+        return Counter.builder("employee.datasource.reads")
+                .tag("target", target)
+                .tag("reason", reason)
+                .description("Read-only transactions by the database serving them and why it was chosen")
+                .register(meterRegistry);
+    }
+
+    private static final class Replica {
+
+        private final HikariDataSource pool;
+
+        private final Counter reads;
+
+        private volatile boolean healthy = true;
+
+        private Replica(HikariDataSource pool, Counter reads) {
+            this.pool = pool;
+            this.reads = reads;
+        }
+    }
+
+    /**
+     * Hands out connections of the database chosen for the current read.
+     */
+    private final class ReadDataSource extends AbstractDataSource {
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            return getReadConnection();
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            throw new SQLFeatureNotSupportedException("Replica connections use the configured credentials");
+        }
+    }
+}
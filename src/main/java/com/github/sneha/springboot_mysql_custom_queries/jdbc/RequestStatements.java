@@ -0,0 +1,115 @@
+package com.github.sneha.springboot_mysql_custom_queries.jdbc;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The JDBC statements, fetched rows and database time of the HTTP request handled by the current thread.
+ * Filled by the StatementAccountingListener while the StatementAccountingFilter has a request in progress;
+ * statements run outside of requests, e.g. by scheduled refreshes, are not accounted.
+ *
+ * Batched statements count as one statement per batch, and are left out of the N+1 detection,
+ * since batching is what avoids running a statement per row.
+ *
+ * @author sneharavikumartl
+ */
+public final class RequestStatements {
+
+    private static final ThreadLocal<RequestStatements> CURRENT = new ThreadLocal<>();
+
+    private int statements;
+
+    private long rowsFetched;
+
+    private long databaseNanos;
+
+    private long statementStartedAt;
+
+    private long slowestStatementNanos;
+
+    private String slowestStatement;
+
+    /**
+     * How often each statement that was not batched has run.
+     */
+    private final Map<String, Integer> executions = new HashMap<>();
+
+    private String mostRepeatedStatement;
+
+    private int mostRepeatedCount;
+
+    private RequestStatements() {
+    }
+
+    static RequestStatements begin() {
+        RequestStatements requestStatements = new RequestStatements();
+        CURRENT.set(requestStatements);
+        return requestStatements;
+    }
+
+    static void end() {
+        CURRENT.remove();
+    }
+
+    /**
+     * The statements of the request in progress on this thread.
+     *
+     * @return the statements, or null outside of a request
+     */
+    static RequestStatements current() {
+        return CURRENT.get();
+    }
+
+    void statementStarted() {
+        statementStartedAt = System.nanoTime();
+    }
+
+    void statementCompleted(String sql, boolean batch) {
+        long elapsed = System.nanoTime() - statementStartedAt;
+        statements++;
+        databaseNanos += elapsed;
+        if (elapsed > slowestStatementNanos) {
+            slowestStatementNanos = elapsed;
+            slowestStatement = sql;
+        }
+        if (!batch) {
+            int count = executions.merge(sql, 1, Integer::sum);
+            if (count > mostRepeatedCount) {
+                mostRepeatedCount = count;
+                mostRepeatedStatement = sql;
+            }
+        }
+    }
+
+    void rowFetched() {
+        rowsFetched++;
+    }
+
+    public int getStatements() {
+        return statements;
+    }
+
+    public long getRowsFetched() {
+        return rowsFetched;
+    }
+
+    public long getDatabaseNanos() {
+        return databaseNanos;
+    }
+
+    public long getSlowestStatementNanos() {
+        return slowestStatementNanos;
+    }
+
+    public String getSlowestStatement() {
+        return slowestStatement;
+    }
+
+    public String getMostRepeatedStatement() {
+        return mostRepeatedStatement;
+    }
+
+    public int getMostRepeatedCount() {
+        return mostRepeatedCount;
+    }
+}
@@ -0,0 +1,34 @@
+package com.github.sneha.springboot_mysql_custom_queries.jdbc;
+
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Actuator endpoint publishing the JDBC statements, fetched rows and database time per HTTP endpoint,
+ * at /actuator/sqlstats on the management port. A DELETE resets the statistics, e.g. before a load test.
+ *
+ * @author sneharavikumartl
+ */
+@Endpoint(id = "sqlstats")
+public class SqlStatsEndpoint {
+
+    private final StatementAccountingFilter statementAccountingFilter;
+
+    public SqlStatsEndpoint(StatementAccountingFilter statementAccountingFilter) {
+        this.statementAccountingFilter = statementAccountingFilter;
+    }
+
+    @ReadOperation
+    public Map<String, EndpointSqlStats> sqlStats() {
+        return new TreeMap<>(statementAccountingFilter.getStatsByEndpoint());
+    }
+
+    @DeleteOperation
+    public void reset() {
+        statementAccountingFilter.reset();
+    }
+}
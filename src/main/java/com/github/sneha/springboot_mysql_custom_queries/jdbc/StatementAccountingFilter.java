@@ -0,0 +1,106 @@
+package com.github.sneha.springboot_mysql_custom_queries.jdbc;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Servlet filter accounting the JDBC statements of every HTTP request and aggregating them per endpoint,
+ * i.e. per HTTP method and mapped path pattern.
+ *
+ * A request is reported in the log when one of its statements took longer than the slow query threshold,
+ * or when it ran the same statement (other than a batch) at least the N+1 threshold times, which usually
+ * means that rows are loaded one by one instead of with a single query. Reports are sampled to at most
+ * one per endpoint and interval.
+ *
+ * @author sneharavikumartl
+ */
+@Slf4j
+public class StatementAccountingFilter extends OncePerRequestFilter {
+
+    private static final String UNMAPPED = "UNMAPPED";
+
+    private final long slowQueryThresholdNanos;
+
+    private final int nPlusOneThreshold;
+
+    private final long reportIntervalNanos;
+
+    private final Map<String, EndpointSqlStats> statsByEndpoint = new ConcurrentHashMap<>();
+
+    public StatementAccountingFilter(Duration slowQueryThreshold, int nPlusOneThreshold, Duration reportInterval) {
+        this.slowQueryThresholdNanos = slowQueryThreshold.toNanos();
+        this.nPlusOneThreshold = nPlusOneThreshold;
+        this.reportIntervalNanos = reportInterval.toNanos();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        RequestStatements requestStatements = RequestStatements.begin();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            RequestStatements.end();
+            record(endpoint(request), requestStatements);
+        }
+    }
+
+    /**
+     * The statistics of all endpoints that have received requests.
+     *
+     * @return the statistics by endpoint
+     */
+    public Map<String, EndpointSqlStats> getStatsByEndpoint() {
+        return statsByEndpoint;
+    }
+
+    /**
+     * Discards the statistics collected so far.
+     */
+    public void reset() {
+        statsByEndpoint.clear();
+    }
+
+    private void record(String endpoint, RequestStatements requestStatements) {
+        boolean slowQuery = requestStatements.getSlowestStatementNanos() > slowQueryThresholdNanos;
+        boolean nPlusOne = requestStatements.getMostRepeatedCount() >= nPlusOneThreshold;
+        EndpointSqlStats stats = statsByEndpoint.computeIfAbsent(endpoint, e -> new EndpointSqlStats());
+        stats.record(requestStatements, slowQuery, nPlusOne);
+        if (!slowQuery && !nPlusOne) {
+            return;
+        }
+        long unreported = stats.claimReport(reportIntervalNanos);
+        if (unreported < 0) {
+            return;
+        }
+        if (slowQuery) {
+            log.warn("[Slow Query] - Endpoint - {}  Statement took {} ms - {}  Request ran {} statements, fetched {} rows, spent {} ms in the database; {} more reportable requests since the last report",
+                    endpoint, millis(requestStatements.getSlowestStatementNanos()), requestStatements.getSlowestStatement(),
+                    requestStatements.getStatements(), requestStatements.getRowsFetched(), millis(requestStatements.getDatabaseNanos()), unreported);
+        }
+        if (nPlusOne) {
+            log.warn("[N+1] - Endpoint - {}  Same statement ran {} times - {}  Request ran {} statements; {} more reportable requests since the last report",
+                    endpoint, requestStatements.getMostRepeatedCount(), requestStatements.getMostRepeatedStatement(),
+                    requestStatements.getStatements(), unreported);
+        }
+    }
+
+    private static String endpoint(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return request.getMethod() + " " + (pattern == null ? UNMAPPED : pattern);
+    }
+
+    private static String millis(long nanos) {
+        return String.format("%.3f", nanos / 1e6);
+    }
+}
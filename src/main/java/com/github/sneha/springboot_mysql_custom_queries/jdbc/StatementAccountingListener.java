@@ -0,0 +1,51 @@
+package com.github.sneha.springboot_mysql_custom_queries.jdbc;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.MethodExecutionContext;
+import net.ttddyy.dsproxy.listener.MethodExecutionListener;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+
+import java.sql.ResultSet;
+import java.util.List;
+
+/**
+ * datasource-proxy listener adding every statement, and every row read from a result set,
+ * to the RequestStatements of the current thread.
+ *
+ * @author sneharavikumartl
+ */
+public class StatementAccountingListener implements QueryExecutionListener, MethodExecutionListener {
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        RequestStatements requestStatements = RequestStatements.current();
+        if (requestStatements != null) {
+            requestStatements.statementStarted();
+        }
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        RequestStatements requestStatements = RequestStatements.current();
+        if (requestStatements != null && !queryInfoList.isEmpty()) {
+            requestStatements.statementCompleted(queryInfoList.get(0).getQuery(), execInfo.isBatch());
+        }
+    }
+
+    @Override
+    public void beforeMethod(MethodExecutionContext executionContext) {
+    }
+
+    @Override
+    public void afterMethod(MethodExecutionContext executionContext) {
+        if (executionContext.getTarget() instanceof ResultSet
+                && Boolean.TRUE.equals(executionContext.getResult())
+                && "next".equals(executionContext.getMethod().getName())) {
+            RequestStatements requestStatements = RequestStatements.current();
+            if (requestStatements != null) {
+                requestStatements.rowFetched();
+            }
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.github.sneha.springboot_mysql_custom_queries.limiter;
+
+import com.github.sneha.springboot_mysql_custom_queries.exception.ServiceOverloadedException;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Interceptor admitting requests up to the adaptive concurrency limit of their endpoint group.
+ *
+ * Without it, requests beyond what MySQL can serve wait for a pooled connection, and the latency of
+ * every request grows with the queue. Requests over the limit are rejected at once with a
+ * ServiceOverloadedException (503 with Retry-After), so the admitted ones keep their latency.
+ *
+ * @author sneharavikumartl
+ */
+public class ConcurrencyLimitInterceptor implements HandlerInterceptor {
+
+    private static final String START_ATTRIBUTE = ConcurrencyLimitInterceptor.class.getName() + ".start";
+
+    private static final long RETRY_AFTER_SECONDS = 1;
+
+    private final Map<EndpointGroup, GradientConcurrencyLimit> limits;
+
+    public ConcurrencyLimitInterceptor(Map<EndpointGroup, GradientConcurrencyLimit> limits, MeterRegistry meterRegistry) {
+        this.limits = Collections.unmodifiableMap(new EnumMap<>(limits));
+        this.limits.forEach((group, limit) -> {
+            String tag = group.name().toLowerCase();
+            Gauge.builder("employee.concurrency.limit", limit, GradientConcurrencyLimit::getLimit)
+                    .description("Current adaptive limit of concurrent requests")
+                    .tag("group", tag)
+                    .register(meterRegistry);
+            Gauge.builder("employee.concurrency.in-flight", limit, GradientConcurrencyLimit::getInFlight)
+                    .description("Requests currently admitted")
+                    .tag("group", tag)
+                    .register(meterRegistry);
+            FunctionCounter.builder("employee.concurrency.rejected", limit, GradientConcurrencyLimit::getRejected)
+                    .description("Requests rejected because the limit was reached")
+                    .tag("group", tag)
+                    .register(meterRegistry);
+        });
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        EndpointGroup group = EndpointGroup.of(request);
+        GradientConcurrencyLimit limit = limits.get(group);
+        if (!limit.tryAcquire()) {
+            throw new ServiceOverloadedException("Too many concurrent requests in group " + group.name().toLowerCase()
+                    + ", limit " + (int) limit.getLimit(), RETRY_AFTER_SECONDS);
+        }
+        request.setAttribute(START_ATTRIBUTE, System.nanoTime());
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        Object start = request.getAttribute(START_ATTRIBUTE);
+        if (start != null) {
+            request.removeAttribute(START_ATTRIBUTE);
+            limits.get(EndpointGroup.of(request)).release(System.nanoTime() - (Long) start);
+        }
+    }
+
+    /**
+     * The limits by endpoint group.
+     *
+     * @return the limits
+     */
+    public Map<EndpointGroup, GradientConcurrencyLimit> getLimits() {
+        return limits;
+    }
+}
@@ -0,0 +1,27 @@
+package com.github.sneha.springboot_mysql_custom_queries.limiter;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+
+import java.util.Map;
+
+/**
+ * Actuator endpoint publishing the current concurrency limit, requests in flight, rejections and
+ * latencies of every endpoint group, at /actuator/concurrencylimits on the management port.
+ *
+ * @author sneharavikumartl
+ */
+@Endpoint(id = "concurrencylimits")
+public class ConcurrencyLimitsEndpoint {
+
+    private final ConcurrencyLimitInterceptor concurrencyLimitInterceptor;
+
+    public ConcurrencyLimitsEndpoint(ConcurrencyLimitInterceptor concurrencyLimitInterceptor) {
+        this.concurrencyLimitInterceptor = concurrencyLimitInterceptor;
+    }
+
+    @ReadOperation
+    public Map<EndpointGroup, GradientConcurrencyLimit> concurrencyLimits() {
+        return concurrencyLimitInterceptor.getLimits();
+    }
+}
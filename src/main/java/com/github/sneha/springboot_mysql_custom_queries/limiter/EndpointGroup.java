@@ -0,0 +1,52 @@
+package com.github.sneha.springboot_mysql_custom_queries.limiter;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+/**
+ * The groups of endpoints whose concurrency is limited separately, so that a burst of one kind of
+ * request does not shed the others.
+ *
+ * @author sneharavikumartl
+ */
+public enum EndpointGroup {
+
+    /**
+     * GET and HEAD requests to /employees, except streams.
+     */
+    READS,
+
+    /**
+     * GET and HEAD requests returning every employee: /employees/stream and /employees/getAllEmployeeDetails
+     * in any of its formats. Their latency grows with the number of employees rather than with the load,
+     * so they would skew the latency the limit of the other reads adapts to.
+     */
+    STREAMS,
+
+    /**
+     * Other requests to /employees, which create, update or simulate.
+     */
+    WRITES,
+
+    /**
+     * Requests to /admin, such as deletes and imports.
+     */
+    ADMIN;
+
+    /**
+     * The group of a request to one of the limited paths.
+     *
+     * @param request the request
+     * @return the group
+     */
+    public static EndpointGroup of(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        if (path.startsWith("/admin")) {
+            return ADMIN;
+        }
+        String method = request.getMethod();
+        if (!"GET".equals(method) && !"HEAD".equals(method)) {
+            return WRITES;
+        }
+        return path.equals("/employees/stream") || path.equals("/employees/getAllEmployeeDetails") ? STREAMS : READS;
+    }
+}
@@ -0,0 +1,172 @@
+package com.github.sneha.springboot_mysql_custom_queries.limiter;
+
+import lombok.Getter;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Adaptive limit of the requests of one endpoint group running at the same time, tuned from their latency
+ * with the gradient algorithm of Netflix's concurrency-limits (Gradient2).
+ *
+ * Latencies are averaged per window. The average of the last window (short RTT) is compared with a slowly
+ * moving average over many windows (long RTT): while they match, the limit grows by its square root per
+ * window, which probes for more capacity; once requests start queueing, the short RTT rises and the limit
+ * shrinks in proportion, down to half per window. A tolerance lets the short RTT exceed the long RTT
+ * somewhat before the limit shrinks. The limit only grows while at least half of it is in use, so that a
+ * quiet period does not leave it far above what has been observed to work.
+ *
+ * Requests above the limit are not queued; {@link #tryAcquire()} fails at once.
+ *
+ * @author sneharavikumartl
+ */
+public class GradientConcurrencyLimit {
+
+    /**
+     * Windows the long RTT averages over.
+     */
+    private static final int LONG_WINDOWS = 600;
+
+    /**
+     * Weight of a new estimate, smoothing out the limit changes between windows.
+     */
+    private static final double SMOOTHING = 0.2;
+
+    /**
+     * Fewest latencies a window needs before it updates the limit.
+     */
+    private static final int MIN_WINDOW_SAMPLES = 10;
+
+    private final int minLimit;
+
+    private final int maxLimit;
+
+    private final double tolerance;
+
+    private final long windowNanos;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private final LongAdder rejected = new LongAdder();
+
+    /**
+     * The current limit; requests are admitted while fewer than its integer part are in flight.
+     */
+    @Getter
+    private volatile double limit;
+
+    /**
+     * Average latency of the last window in nanoseconds, 0 before the first window.
+     */
+    @Getter
+    private volatile double shortRttNanos;
+
+    /**
+     * Average latency over the long window in nanoseconds, 0 before the first window.
+     */
+    @Getter
+    private volatile double longRttNanos;
+
+    /**
+     * Guards the window. A lock rather than a monitor, so that virtual threads waiting for it are not pinned to their carrier.
+     */
+    private final ReentrantLock windowLock = new ReentrantLock();
+
+    private long windowStart = System.nanoTime();
+
+    private long windowRttNanos;
+
+    private int windowSamples;
+
+    private boolean windowSaturated;
+
+    public GradientConcurrencyLimit(int initialLimit, int minLimit, int maxLimit, double tolerance, long windowNanos) {
+        this.limit = initialLimit;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.tolerance = tolerance;
+        this.windowNanos = windowNanos;
+    }
+
+    /**
+     * Admits a request if fewer than the limit are in flight. An admitted request
+     * has to be completed with {@link #release(long)}.
+     *
+     * @return true if the request was admitted
+     */
+    public boolean tryAcquire() {
+        if (inFlight.incrementAndGet() > (int) limit) {
+            inFlight.decrementAndGet();
+            rejected.increment();
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Completes an admitted request and records its latency.
+     *
+     * @param rttNanos the latency of the request in nanoseconds
+     */
+    public void release(long rttNanos) {
+        int running = inFlight.getAndDecrement();
+        sample(rttNanos, running);
+    }
+
+    /**
+     * The number of requests currently admitted.
+     *
+     * @return the requests in flight
+     */
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    /**
+     * The number of requests rejected since the start.
+     *
+     * @return the rejected requests
+     */
+    public long getRejected() {
+        return rejected.sum();
+    }
+
+    private void sample(long rttNanos, int running) {
+        windowLock.lock();
+        try {
+            windowRttNanos += rttNanos;
+            windowSamples++;
+            windowSaturated |= running * 2 >= limit;
+            long now = System.nanoTime();
+            if (now - windowStart < windowNanos || windowSamples < MIN_WINDOW_SAMPLES) {
+                return;
+            }
+            updateLimit((double) windowRttNanos / windowSamples, windowSaturated);
+            windowStart = now;
+            windowRttNanos = 0;
+            windowSamples = 0;
+            windowSaturated = false;
+        } finally {
+            windowLock.unlock();
+        }
+    }
+
+    private void updateLimit(double shortRtt, boolean saturated) {
+        double longRtt = longRttNanos == 0 ? shortRtt : longRttNanos + (shortRtt - longRttNanos) / LONG_WINDOWS;
+        // After a long overload the long RTT has drifted up; let it recover quickly once latency is back to normal
+        if (longRtt / shortRtt > 2) {
+            longRtt *= 0.95;
+        }
+        shortRttNanos = shortRtt;
+        longRttNanos = longRtt;
+
+        double gradient = Math.max(0.5, Math.min(1.0, tolerance * longRtt / shortRtt));
+        double estimate = limit * gradient + Math.sqrt(limit);
+        if (!saturated && estimate > limit) {
+            return;
+        }
+        double smoothed = limit * (1 - SMOOTHING) + estimate * SMOOTHING;
+        limit = Math.max(minLimit, Math.min(maxLimit, smoothed));
+    }
+}
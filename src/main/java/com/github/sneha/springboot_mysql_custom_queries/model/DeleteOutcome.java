@@ -0,0 +1,19 @@
+package com.github.sneha.springboot_mysql_custom_queries.model;
+
+/**
+ * The outcome of deleting one employee of a bulk delete request.
+ *
+ * @author sneharavikumartl
+ */
+public enum DeleteOutcome {
+
+    /**
+     * The employee existed and has been deleted.
+     */
+    DELETED,
+
+    /**
+     * There was no employee with the given ID.
+     */
+    NOT_FOUND
+}
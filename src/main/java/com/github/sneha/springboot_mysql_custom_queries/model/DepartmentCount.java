@@ -0,0 +1,13 @@
+package com.github.sneha.springboot_mysql_custom_queries.model;
+
+/**
+ * Projection holding the number of employees in a department.
+ *
+ * @author sneharavikumartl
+ */
+public interface DepartmentCount {
+
+    String getDept();
+
+    long getEmployeeCount();
+}
@@ -0,0 +1,34 @@
+package com.github.sneha.springboot_mysql_custom_queries.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Represents the payroll of one department before and after a simulated raise.
+ *
+ * @author sneharavikumartl
+ */
+@Getter
+@AllArgsConstructor
+public class DepartmentPayroll {
+
+    /**
+     * The department name.
+     */
+    private final String department;
+
+    /**
+     * The number of employees in the department.
+     */
+    private final long employeeCount;
+
+    /**
+     * The sum of the current salaries.
+     */
+    private final double currentPayroll;
+
+    /**
+     * The sum of the salaries after the raise.
+     */
+    private final double simulatedPayroll;
+}
@@ -0,0 +1,14 @@
+package com.github.sneha.springboot_mysql_custom_queries.model;
+
+/**
+ * Projection exposing the department and salary of an employee.
+ * Used to build the in-memory salary analytics snapshot without loading complete Employee entities.
+ *
+ * @author sneharavikumartl
+ */
+public interface DepartmentSalary {
+
+    String getDept();
+
+    double getSalary();
+}
@@ -0,0 +1,74 @@
+package com.github.sneha.springboot_mysql_custom_queries.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import org.hibernate.annotations.Immutable;
+
+import java.time.Instant;
+
+/**
+ * Represents the precomputed salary statistics of one department.
+ * This class is mapped to the "employee_salary_stats" summary table, which is only written by the periodic refresh.
+ *
+ * @author sneharavikumartl
+ */
+@Entity
+@Immutable
+@Table(name = "employee_salary_stats")
+@Getter
+public class DepartmentSalaryStats {
+
+    /**
+     * The department name.
+     */
+    @Id
+    @Column(name = "department")
+    private String dept;
+
+    /**
+     * The number of employees in the department.
+     */
+    @Column(name = "employee_count", nullable = false)
+    private long employeeCount;
+
+    /**
+     * The average salary.
+     */
+    @Column(name = "average_salary", nullable = false)
+    private double averageSalary;
+
+    /**
+     * The lowest salary.
+     */
+    @Column(name = "min_salary", nullable = false)
+    private double minSalary;
+
+    /**
+     * The highest salary.
+     */
+    @Column(name = "max_salary", nullable = false)
+    private double maxSalary;
+
+    /**
+     * The median salary, using the nearest-rank method.
+     */
+    @Column(name = "median_salary", nullable = false)
+    private double medianSalary;
+
+    /**
+     * The 90th percentile salary, using the nearest-rank method.
+     */
+    @Column(name = "p90_salary", nullable = false)
+    private double p90Salary;
+
+    /**
+     * When the statistics were computed. Reported once for all departments by SalaryStatsReport.
+     */
+    @JsonIgnore
+    @Column(name = "refreshed_at", nullable = false)
+    private Instant refreshedAt;
+}
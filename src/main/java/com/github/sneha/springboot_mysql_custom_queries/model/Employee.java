@@ -1,9 +1,17 @@
 package com.github.sneha.springboot_mysql_custom_queries.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+import org.springframework.data.domain.Persistable;
+
+import java.util.UUID;
 
 /**
  * Represents a employee entity with relevant details such as employee name, email, phone number, and address.
@@ -16,14 +24,23 @@ import lombok.Setter;
 @Table(name = "employees")
 @Getter
 @Setter
-public class Employee {
+public class Employee implements Persistable<UUID> {
+
+    /**
+     * Validation group of the constraints that only apply when an employee is created, such as the
+     * required salary and department. Updates replace only the contact details and do not check them.
+     */
+    public interface Creation {
+    }
 
     /**
      * The unique identifier for the employee.
+     * Stored as a compact BINARY(16) and exposed in the API in its textual UUID form.
      */
     @Id
-    @Column(name = "employee_id")
-    private String employeeId;
+    @Column(name = "employee_id", length = 16)
+    @JdbcTypeCode(SqlTypes.BINARY)
+    private UUID employeeId;
 
     /**
      * The name of the employee.
@@ -61,12 +78,62 @@ public class Employee {
      * The salary of the employee.
      */
     @Column(name = "salary", nullable = false)
+    @NotNull(message = "Salary cannot be null", groups = Employee.Creation.class)
     private Double salary;
 
     /**
      * The department of the employee.
      */
     @Column(name = "department", nullable = false)
+    @NotNull(message = "Department cannot be null", groups = Employee.Creation.class)
     private String dept;
 
+    /**
+     * The version of the row, incremented by every update.
+     * Updates based on a stale version are rejected, so concurrent writers cannot overwrite each other's changes.
+     * It starts at 0 and is maintained by the persistence layer; request bodies cannot set it.
+     */
+    @Version
+    @Column(name = "version", nullable = false)
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Long version;
+
+    /**
+     * Whether the employee has not been stored in the database yet.
+     * The employeeId is assigned by the application, so without this flag Spring Data would
+     * treat every employee as existing and issue a SELECT before each INSERT.
+     */
+    @Transient
+    @JsonIgnore
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private boolean newEmployee;
+
+    /**
+     * Marks the employee as not yet stored, so that saving it issues a plain INSERT.
+     */
+    public void markNew() {
+        this.newEmployee = true;
+    }
+
+    /**
+     * Clears the new flag once the employee has been loaded from or written to the database.
+     */
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        this.newEmployee = false;
+    }
+
+    @Override
+    @JsonIgnore
+    public UUID getId() {
+        return employeeId;
+    }
+
+    @Override
+    @JsonIgnore
+    public boolean isNew() {
+        return newEmployee;
+    }
 }
@@ -0,0 +1,22 @@
+package com.github.sneha.springboot_mysql_custom_queries.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.UUID;
+
+/**
+ * Represents an employee whose name matches a search prefix.
+ *
+ * @author sneharavikumartl
+ */
+@Getter
+@AllArgsConstructor
+public class EmployeeNameMatch {
+
+    private final UUID employeeId;
+
+    private final String employeeName;
+
+    private final String dept;
+}
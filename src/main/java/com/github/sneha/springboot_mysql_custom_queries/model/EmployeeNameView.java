@@ -0,0 +1,16 @@
+package com.github.sneha.springboot_mysql_custom_queries.model;
+
+import java.util.UUID;
+
+/**
+ * Projection exposing only the id and name of an employee.
+ * Used for keyset pagination over employee names, where the id is the seek key.
+ *
+ * @author sneharavikumartl
+ */
+public interface EmployeeNameView {
+
+    UUID getEmployeeId();
+
+    String getEmployeeName();
+}
@@ -0,0 +1,68 @@
+package com.github.sneha.springboot_mysql_custom_queries.model;
+
+import jakarta.validation.constraints.Email;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Represents a partial update of an employee. Fields that are left out, or null, keep their current value.
+ * The version is the one the client read; the update is rejected if the employee has changed since.
+ * The remaining fields carry the same constraints as the corresponding Employee fields.
+ *
+ * @author sneharavikumartl
+ */
+@Getter
+@Setter
+public class EmployeePatch {
+
+    /**
+     * The version of the employee the changes are based on.
+     */
+    @NotNull(message = "Version is required")
+    private Long version;
+
+    @Pattern(regexp = ".*\\S.*", message = "Username cannot be blank")
+    @Size(min = 3, max = 50, message = "Username must be between 3 and 50 characters")
+    private String employeeName;
+
+    @Pattern(regexp = ".*\\S.*", message = "Email cannot be blank")
+    @Email(message = "Invalid email format")
+    private String email;
+
+    @Pattern(regexp = "^[0-9]{10}$", message = "Phone number must be 10 digits")
+    private String phoneNumber;
+
+    private String address;
+
+    private Double salary;
+
+    private String dept;
+
+    /**
+     * Collects the fields to change.
+     *
+     * @return the new values by Employee attribute name, in a fixed order
+     */
+    public Map<String, Object> changes() {
+        Map<String, Object> changes = new LinkedHashMap<>();
+        putIfPresent(changes, "employeeName", employeeName);
+        putIfPresent(changes, "email", email);
+        putIfPresent(changes, "phoneNumber", phoneNumber);
+        putIfPresent(changes, "address", address);
+        putIfPresent(changes, "salary", salary);
+        putIfPresent(changes, "dept", dept);
+        return changes;
+    }
+
+    private static void putIfPresent(Map<String, Object> changes, String attribute, Object value) {
+        if (value != null) {
+            changes.put(attribute, value);
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.github.sneha.springboot_mysql_custom_queries.model;
+
+import java.util.UUID;
+
+/**
+ * Projection exposing the id, name and department of an employee.
+ * Used to build the in-memory indexes without loading complete Employee entities.
+ *
+ * @author sneharavikumartl
+ */
+public interface EmployeeSummary {
+
+    UUID getEmployeeId();
+
+    String getEmployeeName();
+
+    String getDept();
+}
@@ -0,0 +1,29 @@
+package com.github.sneha.springboot_mysql_custom_queries.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * Represents a single page of a keyset (seek) paginated result.
+ * The nextCursor is an opaque continuation token that has to be passed back
+ * to fetch the following page. It is null when there are no more results.
+ *
+ * @param <T> the type of the items in the page
+ * @author sneharavikumartl
+ */
+@Getter
+@AllArgsConstructor
+public class KeysetPage<T> {
+
+    /**
+     * The items of the current page, in keyset order.
+     */
+    private final List<T> items;
+
+    /**
+     * The continuation token for the next page, or null if this is the last page.
+     */
+    private final String nextCursor;
+}
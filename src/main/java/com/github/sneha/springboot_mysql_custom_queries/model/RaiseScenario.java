@@ -0,0 +1,37 @@
+package com.github.sneha.springboot_mysql_custom_queries.model;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Represents a what-if salary raise to simulate.
+ *
+ * @author sneharavikumartl
+ */
+@Getter
+@Setter
+public class RaiseScenario {
+
+    /**
+     * The raise in percent for specific departments.
+     */
+    private Map<String, Double> raisePercentByDepartment = new HashMap<>();
+
+    /**
+     * The raise in percent for all other departments.
+     */
+    private double defaultRaisePercent;
+
+    /**
+     * The lowest salary after the raise (optional). Lower salaries are lifted to it.
+     */
+    private Double minSalary;
+
+    /**
+     * The highest salary after the raise (optional). Salaries are not raised beyond it.
+     */
+    private Double maxSalary;
+}
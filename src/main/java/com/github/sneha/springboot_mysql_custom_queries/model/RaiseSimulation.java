@@ -0,0 +1,37 @@
+package com.github.sneha.springboot_mysql_custom_queries.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Represents the outcome of a simulated salary raise.
+ *
+ * @author sneharavikumartl
+ */
+@Getter
+@AllArgsConstructor
+public class RaiseSimulation {
+
+    /**
+     * The sum of all current salaries.
+     */
+    private final double currentPayroll;
+
+    /**
+     * The sum of all salaries after the raise.
+     */
+    private final double simulatedPayroll;
+
+    /**
+     * The payrolls of each department, ordered by department name.
+     */
+    private final List<DepartmentPayroll> departments;
+
+    /**
+     * When the analytics snapshot the simulation was computed from was taken.
+     */
+    private final Instant snapshotTakenAt;
+}
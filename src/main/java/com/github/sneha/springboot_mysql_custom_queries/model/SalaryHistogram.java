@@ -0,0 +1,47 @@
+package com.github.sneha.springboot_mysql_custom_queries.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.Instant;
+
+/**
+ * Represents the distribution of salaries over equal-width buckets.
+ * Bucket i covers [min + i * bucketWidth, min + (i + 1) * bucketWidth), the last bucket includes max.
+ *
+ * @author sneharavikumartl
+ */
+@Getter
+@AllArgsConstructor
+public class SalaryHistogram {
+
+    /**
+     * The department, or null for all departments.
+     */
+    private final String department;
+
+    /**
+     * The lower bound of the first bucket.
+     */
+    private final double min;
+
+    /**
+     * The upper bound of the last bucket.
+     */
+    private final double max;
+
+    /**
+     * The width of each bucket.
+     */
+    private final double bucketWidth;
+
+    /**
+     * The number of employees per bucket.
+     */
+    private final long[] counts;
+
+    /**
+     * When the analytics snapshot the histogram was computed from was taken.
+     */
+    private final Instant snapshotTakenAt;
+}
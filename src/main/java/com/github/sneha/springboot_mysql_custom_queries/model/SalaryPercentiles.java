@@ -0,0 +1,37 @@
+package com.github.sneha.springboot_mysql_custom_queries.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * Represents salary percentiles, computed with the nearest-rank method.
+ *
+ * @author sneharavikumartl
+ */
+@Getter
+@AllArgsConstructor
+public class SalaryPercentiles {
+
+    /**
+     * The department, or null for all departments.
+     */
+    private final String department;
+
+    /**
+     * The number of employees the percentiles were computed over.
+     */
+    private final long employeeCount;
+
+    /**
+     * The salary at each requested percentile, keyed by the percentile.
+     */
+    private final Map<Double, Double> salaries;
+
+    /**
+     * When the analytics snapshot the percentiles were computed from was taken.
+     */
+    private final Instant snapshotTakenAt;
+}
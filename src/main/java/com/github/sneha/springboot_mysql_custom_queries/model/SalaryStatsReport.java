@@ -0,0 +1,38 @@
+package com.github.sneha.springboot_mysql_custom_queries.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Represents the salary statistics of all departments, along with how stale they are.
+ *
+ * @author sneharavikumartl
+ */
+@Getter
+@AllArgsConstructor
+public class SalaryStatsReport {
+
+    /**
+     * When the statistics were computed, or null if there are no statistics yet.
+     */
+    private final Instant refreshedAt;
+
+    /**
+     * The number of seconds since the statistics were computed, or null if there are no statistics yet.
+     */
+    private final Long ageSeconds;
+
+    /**
+     * Whether employees have been changed since the statistics were computed.
+     * If true, the statistics will be recomputed by the next scheduled refresh.
+     */
+    private final boolean changedSinceRefresh;
+
+    /**
+     * The statistics of each department, ordered by department name.
+     */
+    private final List<DepartmentSalaryStats> departments;
+}
@@ -0,0 +1,52 @@
+package com.github.sneha.springboot_mysql_custom_queries.repository;
+
+import com.github.sneha.springboot_mysql_custom_queries.model.Employee;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Implementation of the EmployeeBatchInsertRepository interface.
+ * Persists employees directly through the EntityManager and flushes them every
+ * hibernate.jdbc.batch_size rows, so Hibernate sends each chunk as a single JDBC batch.
+ *
+ * @author sneharavikumartl
+ */
+@Repository
+public class EmployeeBatchInsertImpl implements EmployeeBatchInsertRepository {
+
+    /**
+     * EntityManager instance to interact with the persistence context and execute queries.
+     */
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Number of rows sent to the database per JDBC batch.
+     */
+    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size}")
+    private int batchSize;
+
+    /**
+     * Persists the employees and flushes them in chunks of batchSize rows.
+     * The persistence context is cleared after every flush to keep memory usage bounded.
+     *
+     * @param employees the employees to insert, each already carrying its employeeId
+     * @return the number of employees inserted
+     */
+    public int insertAll(List<Employee> employees) {
+        for (int i = 0; i < employees.size(); i++) {
+            entityManager.persist(employees.get(i));
+            if ((i + 1) % batchSize == 0) {
+                entityManager.flush();
+                entityManager.clear();
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+        return employees.size();
+    }
+}
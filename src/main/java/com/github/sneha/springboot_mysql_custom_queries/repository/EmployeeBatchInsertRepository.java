@@ -0,0 +1,25 @@
+package com.github.sneha.springboot_mysql_custom_queries.repository;
+
+import com.github.sneha.springboot_mysql_custom_queries.model.Employee;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Repository interface for inserting large numbers of Employee entities.
+ * Defines the contract for writing new employees in JDBC batches.
+ *
+ * @author sneharavikumartl
+ */
+@Repository
+public interface EmployeeBatchInsertRepository {
+
+    /**
+     * Inserts the given new employees using JDBC batching.
+     * Must be called inside a transaction.
+     *
+     * @param employees the employees to insert, each already carrying its employeeId
+     * @return the number of employees inserted
+     */
+    int insertAll(List<Employee> employees);
+}
@@ -1,27 +1,61 @@
 package com.github.sneha.springboot_mysql_custom_queries.repository;
 
 import com.github.sneha.springboot_mysql_custom_queries.model.Employee;
-import com.github.sneha.springboot_mysql_custom_queries.model.EmployeeCriteriaContext;
+import com.github.sneha.springboot_mysql_custom_queries.utils.KeysetCursor;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
-import jakarta.persistence.criteria.CriteriaBuilder;
-import jakarta.persistence.criteria.CriteriaQuery;
-import jakarta.persistence.criteria.Predicate;
-import jakarta.persistence.criteria.Root;
+import jakarta.persistence.Query;
+import jakarta.persistence.TypedQuery;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Implementation of the EmployeeCriteriaBuilderRepository interface.
- * Provides methods to filter Employee entities dynamically using JPA Criteria API.
+ * Provides methods to filter Employee entities dynamically, depending on the given criteria.
+ *
+ * A filter only has a handful of possible shapes, depending on which of its predicates are present.
+ * The JPQL of each shape is built once with named parameters in place of the values and cached, so a call
+ * only creates a query from it and binds its values; Hibernate caches the interpretation of each string.
+ * Unlike Criteria queries, the cached strings are immutable, so concurrent calls can share them safely.
+ * Bounds that cannot exclude any row, like a maximum salary of Double.MAX_VALUE, are left out.
+ *
+ * Patches are cached the same way, with one update statement per set of changed columns.
  *
  * @author sneharavikumartl
  */
 @Repository
 public class EmployeeCriteriaBuilderImpl implements EmployeeCriteriaBuilderRepository {
 
+    // Bits making up the shape of a filter query
+    private static final int DEPARTMENT = 1;
+    private static final int MIN_SALARY = 1 << 1;
+    private static final int MAX_SALARY = 1 << 2;
+    private static final int KEYSET_ORDER = 1 << 3;
+    private static final int SEEK = 1 << 4;
+
+    // Names of the parameters bound at runtime
+    private static final String DEPARTMENT_PARAM = "department";
+    private static final String MIN_SALARY_PARAM = "minSalary";
+    private static final String MAX_SALARY_PARAM = "maxSalary";
+    private static final String AFTER_DEPARTMENT_PARAM = "afterDepartment";
+    private static final String AFTER_SALARY_PARAM = "afterSalary";
+    private static final String AFTER_ID_PARAM = "afterId";
+    private static final String EMPLOYEE_ID_PARAM = "employeeId";
+    private static final String VERSION_PARAM = "version";
+
+    /**
+     * Employee attributes a patch can change. Bit i of an update shape stands for the i-th attribute,
+     * whose value is bound to the parameter of the same name.
+     */
+    private static final List<String> PATCHABLE_ATTRIBUTES = List.of("employeeName", "email", "phoneNumber", "address", "salary", "dept");
+
     /**
      * EntityManager instance to interact with the persistence context and execute queries.
      */
@@ -29,51 +63,185 @@ public class EmployeeCriteriaBuilderImpl implements EmployeeCriteriaBuilderRepos
     private EntityManager entityManager;
 
     /**
-     * Initializes and returns an EmployeeCriteriaContext object to encapsulate
-     * CriteriaBuilder, CriteriaQuery, and Root for Employee entities.
-     *
-     * @return a new instance of EmployeeCriteriaContext
+     * The JPQL of the query of each shape.
      */
-    private EmployeeCriteriaContext initializeEmployeeCriteriaContext() {
-        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
-        CriteriaQuery<Employee> cq = cb.createQuery(Employee.class);
-        Root<Employee> root = cq.from(Employee.class);
-        return new EmployeeCriteriaContext(cb, cq, root);
-    }
+    private final Map<Integer, String> queryShapes = new ConcurrentHashMap<>();
+
+    /**
+     * The JPQL of the update of each set of changed attributes.
+     */
+    private final Map<Integer, String> updateShapes = new ConcurrentHashMap<>();
 
     /**
      * Filters employees based on department, minimum salary, and maximum salary using
-     * dynamic query construction with JPA Criteria API.
+     * dynamic query construction.
      *
      * @param department the department to filter by (optional)
      * @param minSalary  the minimum salary to filter by (optional)
      * @param maxSalary  the maximum salary to filter by (optional)
      * @return a list of Employee entities matching the specified filter criteria
      */
+    @Transactional(readOnly = true)
     public List<Employee> filterEmployee(String department, Double minSalary, Double maxSalary) {
-        // Initialize criteria context for Employee
-        EmployeeCriteriaContext employeeCriteriaContext = initializeEmployeeCriteriaContext();
-        CriteriaBuilder cb = employeeCriteriaContext.cb;
-        CriteriaQuery<Employee> cq = employeeCriteriaContext.cq;
-        Root<Employee> employee = employeeCriteriaContext.root;
+        int shape = filterShape(department, minSalary, maxSalary);
+        return createFilterQuery(shape, department, minSalary, maxSalary).getResultList();
+    }
 
-        // Build predicates for dynamic filtering
-        List<Predicate> predicates = new ArrayList<>();
+    /**
+     * Filters employees like {@link #filterEmployee(String, Double, Double)}, but returns only the rows
+     * that follow the given cursor in (department, salary, employeeId) order. The seek predicate lets
+     * the database start reading right after the previous page instead of skipping over it.
+     *
+     * @param department the department to filter by (optional)
+     * @param minSalary  the minimum salary to filter by (optional)
+     * @param maxSalary  the maximum salary to filter by (optional)
+     * @param after      the position of the last row of the previous page (optional)
+     * @param limit      the maximum number of rows to return
+     * @return a list of Employee entities matching the specified filter criteria, in keyset order
+     */
+    @Transactional(readOnly = true)
+    public List<Employee> filterEmployeeAfter(String department, Double minSalary, Double maxSalary, KeysetCursor after, int limit) {
+        int shape = filterShape(department, minSalary, maxSalary) | KEYSET_ORDER;
+        if (after != null) {
+            shape |= SEEK;
+        }
+        TypedQuery<Employee> query = createFilterQuery(shape, department, minSalary, maxSalary);
+        if (after != null) {
+            if (!has(shape, DEPARTMENT)) {
+                query.setParameter(AFTER_DEPARTMENT_PARAM, after.getDepartment());
+            }
+            query.setParameter(AFTER_SALARY_PARAM, after.getSalary());
+            query.setParameter(AFTER_ID_PARAM, after.getEmployeeId());
+        }
+        return query.setMaxResults(limit).getResultList();
+    }
 
+    /**
+     * Creates a query from the cached JPQL of the given shape and binds the filter values.
+     */
+    private TypedQuery<Employee> createFilterQuery(int shape, String department, Double minSalary, Double maxSalary) {
+        TypedQuery<Employee> query = entityManager.createQuery(queryShapes.computeIfAbsent(shape, EmployeeCriteriaBuilderImpl::buildQueryShape), Employee.class);
+        if (has(shape, DEPARTMENT)) {
+            query.setParameter(DEPARTMENT_PARAM, department);
+        }
+        if (has(shape, MIN_SALARY)) {
+            query.setParameter(MIN_SALARY_PARAM, minSalary);
+        }
+        if (has(shape, MAX_SALARY)) {
+            query.setParameter(MAX_SALARY_PARAM, maxSalary);
+        }
+        return query;
+    }
+
+    /**
+     * Determines which filter predicates are needed. A salary bound is only needed when it can exclude a row.
+     *
+     * @return the shape bits of the filter predicates
+     */
+    static int filterShape(String department, Double minSalary, Double maxSalary) {
+        int shape = 0;
         if (department != null && !department.isEmpty()) {
-            predicates.add(cb.equal(employee.get("dept"), department));
+            shape |= DEPARTMENT;
+        }
+        if (minSalary != null && minSalary > -Double.MAX_VALUE) {
+            shape |= MIN_SALARY;
+        }
+        if (maxSalary != null && maxSalary < Double.MAX_VALUE) {
+            shape |= MAX_SALARY;
+        }
+        return shape;
+    }
+
+    /**
+     * Builds the JPQL of the query of the given shape, with named parameters in place of all values.
+     *
+     * @return the JPQL
+     */
+    private static String buildQueryShape(int shape) {
+        List<String> predicates = new ArrayList<>();
+        if (has(shape, DEPARTMENT)) {
+            predicates.add("e.dept = :" + DEPARTMENT_PARAM);
+        }
+        if (has(shape, MIN_SALARY)) {
+            predicates.add("e.salary >= :" + MIN_SALARY_PARAM);
+        }
+        if (has(shape, MAX_SALARY)) {
+            predicates.add("e.salary <= :" + MAX_SALARY_PARAM);
+        }
+        if (has(shape, SEEK)) {
+            predicates.add(buildSeekPredicate(has(shape, DEPARTMENT)));
+        }
+        StringBuilder jpql = new StringBuilder("SELECT e FROM Employee e");
+        if (!predicates.isEmpty()) {
+            jpql.append(" WHERE ").append(String.join(" AND ", predicates));
+        }
+        if (has(shape, KEYSET_ORDER)) {
+            jpql.append(" ORDER BY e.dept ASC, e.salary ASC, e.employeeId ASC");
+        }
+        return jpql.toString();
+    }
+
+    /**
+     * Builds the predicate selecting the rows strictly after the cursor in (department, salary, employeeId) order.
+     * When the department is fixed by the filter, the department column is left out of the comparison.
+     */
+    private static String buildSeekPredicate(boolean departmentFixed) {
+        String afterSalaryAndId = "(e.salary > :" + AFTER_SALARY_PARAM
+                + " OR (e.salary = :" + AFTER_SALARY_PARAM + " AND e.employeeId > :" + AFTER_ID_PARAM + "))";
+        if (departmentFixed) {
+            return afterSalaryAndId;
         }
-        if (minSalary != null) {
-            predicates.add(cb.greaterThanOrEqualTo(employee.get("salary"), minSalary));
+        return "(e.dept > :" + AFTER_DEPARTMENT_PARAM
+                + " OR (e.dept = :" + AFTER_DEPARTMENT_PARAM + " AND " + afterSalaryAndId + "))";
+    }
+
+    /**
+     * Updates the changed columns of an employee and increments its version, in a single
+     * UPDATE ... WHERE employee_id = ? AND version = ? statement that does not read the row first.
+     * Only the changed columns are written.
+     *
+     * @param employeeId the ID of the employee to update
+     * @param version    the version the changes are based on
+     * @param changes    the new values by Employee attribute name; must not be empty
+     * @return the number of updated rows, 0 if the employee does not exist or has a different version
+     */
+    public int patchEmployee(UUID employeeId, long version, Map<String, Object> changes) {
+        int shape = 0;
+        for (String attribute : changes.keySet()) {
+            int index = PATCHABLE_ATTRIBUTES.indexOf(attribute);
+            if (index < 0) {
+                throw new IllegalArgumentException("Employee attribute " + attribute + " cannot be patched");
+            }
+            shape |= 1 << index;
         }
-        if (maxSalary != null) {
-            predicates.add(cb.lessThanOrEqualTo(employee.get("salary"), maxSalary));
+        if (shape == 0) {
+            throw new IllegalArgumentException("A patch has to change at least one attribute");
         }
+        Query update = entityManager.createQuery(updateShapes.computeIfAbsent(shape, EmployeeCriteriaBuilderImpl::buildUpdateShape));
+        changes.forEach(update::setParameter);
+        return update.setParameter(EMPLOYEE_ID_PARAM, employeeId)
+                .setParameter(VERSION_PARAM, version)
+                .executeUpdate();
+    }
 
-        // Apply predicates to the query
-        cq.where(predicates.toArray(new Predicate[0]));
+    /**
+     * Builds the JPQL of the update setting the attributes of the given shape, with named parameters in place of all values.
+     *
+     * @return the JPQL
+     */
+    private static String buildUpdateShape(int shape) {
+        StringJoiner assignments = new StringJoiner(", ");
+        for (int i = 0; i < PATCHABLE_ATTRIBUTES.size(); i++) {
+            if (has(shape, 1 << i)) {
+                assignments.add("e." + PATCHABLE_ATTRIBUTES.get(i) + " = :" + PATCHABLE_ATTRIBUTES.get(i));
+            }
+        }
+        assignments.add("e.version = e.version + 1");
+        return "UPDATE Employee e SET " + assignments
+                + " WHERE e.employeeId = :" + EMPLOYEE_ID_PARAM + " AND e.version = :" + VERSION_PARAM;
+    }
 
-        // Execute the query and return the results
-        return entityManager.createQuery(cq).getResultList();
+    private static boolean has(int shape, int bit) {
+        return (shape & bit) != 0;
     }
 }
@@ -1,9 +1,12 @@
 package com.github.sneha.springboot_mysql_custom_queries.repository;
 
 import com.github.sneha.springboot_mysql_custom_queries.model.Employee;
+import com.github.sneha.springboot_mysql_custom_queries.utils.KeysetCursor;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.Map;
+import java.util.UUID;
 
 /**
  * Repository interface for filtering Employee entities using custom criteria.
@@ -24,4 +27,28 @@ public interface EmployeeCriteriaBuilderRepository {
      * @return a list of Employee entities that match the specified criteria
      */
     List<Employee> filterEmployee(String department, Double minSalary, Double maxSalary);
+
+    /**
+     * Filters employees based on department, minimum salary, and maximum salary, returning
+     * at most limit rows that follow the given cursor in (department, salary, employeeId) order.
+     *
+     * @param department the department to filter by (optional)
+     * @param minSalary the minimum salary to filter by (optional)
+     * @param maxSalary the maximum salary to filter by (optional)
+     * @param after the position of the last row of the previous page (optional, null for the first page)
+     * @param limit the maximum number of rows to return
+     * @return a list of Employee entities that match the specified criteria, in keyset order
+     */
+    List<Employee> filterEmployeeAfter(String department, Double minSalary, Double maxSalary, KeysetCursor after, int limit);
+
+    /**
+     * Updates the given columns of an employee in a single UPDATE statement, provided that the employee
+     * still has the given version, and increments the version.
+     *
+     * @param employeeId the ID of the employee to update
+     * @param version the version the changes are based on
+     * @param changes the new values by Employee attribute name; must not be empty
+     * @return the number of updated rows, 0 if the employee does not exist or has a different version
+     */
+    int patchEmployee(UUID employeeId, long version, Map<String, Object> changes);
 }
@@ -1,20 +1,40 @@
 package com.github.sneha.springboot_mysql_custom_queries.repository;
 
+import com.github.sneha.springboot_mysql_custom_queries.model.DepartmentCount;
+import com.github.sneha.springboot_mysql_custom_queries.model.DepartmentSalary;
 import com.github.sneha.springboot_mysql_custom_queries.model.Employee;
+import com.github.sneha.springboot_mysql_custom_queries.model.EmployeeNameView;
+import com.github.sneha.springboot_mysql_custom_queries.model.EmployeeSummary;
 import com.github.sneha.springboot_mysql_custom_queries.utils.EmployeeQueryProvider;
 import org.springframework.data.jpa.repository.JpaRepository;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
 
 /**
  * Repository interface for interacting with the "users" table in the database.
  * It extends JpaRepository, providing basic CRUD operations and custom query methods.
  *
+ * Query methods run in read-only transactions unless they are called inside a read-write one,
+ * so that they are served by a read replica when replicas are configured. Methods that modify
+ * or lock rows are marked read-write.
+ *
  * @author sneharavikumartl
  */
-public interface EmployeeRepository extends JpaRepository<Employee, String> {
+@Transactional(readOnly = true)
+public interface EmployeeRepository extends JpaRepository<Employee, UUID> {
 
     /**
      * Retrieves the names of all employees.
@@ -34,4 +54,119 @@ public interface EmployeeRepository extends JpaRepository<Employee, String> {
      */
     @Query(EmployeeQueryProvider.FIND_EMPLOYEES_BY_DEPARTMENT)
     List<String> getEmployeeFromDept(@Param("department") String department);
+
+    /**
+     * Counts the employees in a specific department.
+     *
+     * @param department the department to count
+     * @return the number of employees in the department
+     */
+    long countByDept(String department);
+
+    /**
+     * Counts the employees of every department.
+     * Uses a custom query defined in the EmployeeQueryProvider class.
+     *
+     * @return the number of employees per department
+     */
+    @Query(EmployeeQueryProvider.COUNT_EMPLOYEES_BY_DEPARTMENT)
+    List<DepartmentCount> countEmployeesByDepartment();
+
+    /**
+     * Retrieves the ids and names of the employees following the given employeeId, in employeeId order.
+     * The seek predicate makes every page cost the same, regardless of how deep it is.
+     *
+     * @param afterId  the employeeId of the last row of the previous page
+     * @param pageable the page size; only the first page of the pageable is ever requested
+     * @return the ids and names of the next employees
+     */
+    @Query(EmployeeQueryProvider.FIND_EMPLOYEE_NAMES_AFTER_ID)
+    List<EmployeeNameView> findEmployeeNamesAfter(@Param("afterId") UUID afterId, Pageable pageable);
+
+    /**
+     * Retrieves the details of the employees following the given employeeId, in employeeId order.
+     * The seek predicate makes every page cost the same, regardless of how deep it is.
+     *
+     * @param afterId  the employeeId of the last row of the previous page
+     * @param pageable the page size; only the first page of the pageable is ever requested
+     * @return the next employees
+     */
+    @Query(EmployeeQueryProvider.FIND_EMPLOYEES_AFTER_ID)
+    List<Employee> findEmployeesAfter(@Param("afterId") UUID afterId, Pageable pageable);
+
+    /**
+     * Streams the details of all employees without materializing the complete result set.
+     * The rows are fetched in chunks through a read-only cursor, so the stream must be consumed
+     * inside a transaction and closed afterwards.
+     *
+     * @return a stream of all Employee entities
+     */
+    @Query(EmployeeQueryProvider.STREAM_ALL_EMPLOYEE_DETAILS)
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = EmployeeQueryProvider.STREAMING_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    Stream<Employee> streamAllEmployeeDetails();
+
+    /**
+     * Streams the id, name and department of all employees.
+     * Like {@link #streamAllEmployeeDetails()}, the stream must be consumed inside a transaction and closed afterwards.
+     *
+     * @return a stream of the summaries of all employees
+     */
+    @Query(EmployeeQueryProvider.STREAM_ALL_EMPLOYEE_SUMMARIES)
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = EmployeeQueryProvider.STREAMING_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<EmployeeSummary> streamAllEmployeeSummaries();
+
+    /**
+     * Streams the department and salary of all employees.
+     * Like {@link #streamAllEmployeeDetails()}, the stream must be consumed inside a transaction and closed afterwards.
+     *
+     * @return a stream of the department and salary of all employees
+     */
+    @Query(EmployeeQueryProvider.STREAM_ALL_DEPARTMENT_SALARIES)
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = EmployeeQueryProvider.STREAMING_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<DepartmentSalary> streamAllDepartmentSalaries();
+
+    /**
+     * Deletes an employee in a single DELETE statement, without loading it first.
+     * Uses a custom query defined in the EmployeeQueryProvider class.
+     *
+     * @param employeeId the ID of the employee to delete
+     * @return the number of deleted rows, 0 if there is no employee with the given ID
+     */
+    @Transactional
+    @Modifying
+    @Query(EmployeeQueryProvider.DELETE_EMPLOYEE_BY_ID)
+    int deleteEmployeeById(@Param("employeeId") UUID employeeId);
+
+    /**
+     * Finds which of the given employeeIds exist and locks their rows until the end of the transaction,
+     * so that they cannot be deleted or changed concurrently.
+     *
+     * @param employeeIds the IDs to look up
+     * @return the IDs of the existing employees
+     */
+    @Transactional
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query(EmployeeQueryProvider.FIND_EMPLOYEE_IDS_IN)
+    List<UUID> lockExistingEmployeeIds(@Param("employeeIds") Collection<UUID> employeeIds);
+
+    /**
+     * Deletes the employees with the given IDs in a single DELETE ... IN statement.
+     *
+     * @param employeeIds the IDs of the employees to delete
+     * @return the number of deleted rows
+     */
+    @Transactional
+    @Modifying
+    @Query(EmployeeQueryProvider.DELETE_EMPLOYEES_BY_IDS)
+    int deleteEmployeesByIds(@Param("employeeIds") Collection<UUID> employeeIds);
 }
@@ -0,0 +1,43 @@
+package com.github.sneha.springboot_mysql_custom_queries.repository;
+
+import com.github.sneha.springboot_mysql_custom_queries.model.DepartmentSalaryStats;
+import com.github.sneha.springboot_mysql_custom_queries.utils.EmployeeQueryProvider;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Repository interface for the "employee_salary_stats" summary table.
+ *
+ * @author sneharavikumartl
+ */
+public interface SalaryStatsRepository extends JpaRepository<DepartmentSalaryStats, String> {
+
+    /**
+     * Retrieves the statistics of all departments, ordered by department name.
+     *
+     * @return the statistics of each department
+     */
+    List<DepartmentSalaryStats> findAllByOrderByDeptAsc();
+
+    /**
+     * Removes all statistics.
+     */
+    @Modifying
+    @Query(value = EmployeeQueryProvider.DELETE_SALARY_STATS, nativeQuery = true)
+    void deleteAllStats();
+
+    /**
+     * Computes the statistics of every department from the employees table in a single statement.
+     *
+     * @param refreshedAt the time to record as the time of computation
+     * @return the number of departments
+     */
+    @Modifying
+    @Query(value = EmployeeQueryProvider.INSERT_SALARY_STATS, nativeQuery = true)
+    int insertStats(@Param("refreshedAt") Instant refreshedAt);
+}
@@ -1,23 +1,72 @@
 package com.github.sneha.springboot_mysql_custom_queries.service;
 
+import com.github.sneha.springboot_mysql_custom_queries.advice.Bulkhead;
+import com.github.sneha.springboot_mysql_custom_queries.advice.Coalesce;
+import com.github.sneha.springboot_mysql_custom_queries.advice.LogExecutionTime;
+import com.github.sneha.springboot_mysql_custom_queries.config.CacheConfig;
+import com.github.sneha.springboot_mysql_custom_queries.event.EmployeeChangedEvent;
+import com.github.sneha.springboot_mysql_custom_queries.exception.BulkRequestTooLargeException;
 import com.github.sneha.springboot_mysql_custom_queries.exception.DepartmentNotFoundException;
 import com.github.sneha.springboot_mysql_custom_queries.exception.EmployeeDetailsNotFoundException;
+import com.github.sneha.springboot_mysql_custom_queries.exception.EmployeeVersionConflictException;
+import com.github.sneha.springboot_mysql_custom_queries.exception.InvalidEmployeeDataException;
+import com.github.sneha.springboot_mysql_custom_queries.exception.InvalidPageRequestException;
+import com.github.sneha.springboot_mysql_custom_queries.exception.InvalidSearchRequestException;
+import com.github.sneha.springboot_mysql_custom_queries.exception.ServiceOverloadedException;
+import com.github.sneha.springboot_mysql_custom_queries.index.DepartmentIndex;
+import com.github.sneha.springboot_mysql_custom_queries.index.EmployeeCounter;
+import com.github.sneha.springboot_mysql_custom_queries.model.DeleteOutcome;
 import com.github.sneha.springboot_mysql_custom_queries.model.Employee;
+import com.github.sneha.springboot_mysql_custom_queries.model.EmployeeNameMatch;
+import com.github.sneha.springboot_mysql_custom_queries.model.EmployeeNameView;
+import com.github.sneha.springboot_mysql_custom_queries.model.EmployeePatch;
+import com.github.sneha.springboot_mysql_custom_queries.model.KeysetPage;
+import com.github.sneha.springboot_mysql_custom_queries.repository.EmployeeBatchInsertRepository;
 import com.github.sneha.springboot_mysql_custom_queries.repository.EmployeeCriteriaBuilderRepository;
 import com.github.sneha.springboot_mysql_custom_queries.repository.EmployeeRepository;
+import com.github.sneha.springboot_mysql_custom_queries.utils.EmployeeIdGenerator;
+import com.github.sneha.springboot_mysql_custom_queries.utils.KeysetCursor;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.validation.ConstraintViolation;
 import jakarta.validation.Valid;
+import jakarta.validation.Validator;
+import jakarta.validation.groups.Default;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
 
 /**
  * Service class for managing Employee operations such as retrieving, creating,
- * updating, and deleting Employees. It also integrates caching with Redis for better performance.
+ * updating, and deleting Employees. It also integrates an in-process Caffeine cache for better performance.
  *
  * @author sneharavikumartl
  */
 @Service
+@LogExecutionTime
 @Slf4j
 public class EmployeeService {
 
@@ -27,15 +76,56 @@ public class EmployeeService {
     @Autowired
     private EmployeeCriteriaBuilderRepository employeeCriteriaBuilder;
 
+    @Autowired
+    private EmployeeBatchInsertRepository employeeBatchInsert;
+
+    @Autowired
+    private Validator validator;
+
+    @Autowired
+    private EmployeeIdGenerator employeeIdGenerator;
+
+    @Autowired
+    private DepartmentIndex departmentIndex;
+
+    @Autowired
+    private EmployeeCounter employeeCounter;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Value("${employee.bulk.max-employees}")
+    private int maxBulkEmployees;
+
+    @Value("${employee.bulk.delete-chunk-size}")
+    private int deleteChunkSize;
+
+    @Value("${employee.pagination.max-page-size}")
+    private int maxPageSize;
+
+    @Value("${employee.search.max-limit}")
+    private int maxSearchLimit;
+
     /**
      * Retrieves an Employee by their EmployeeId from the cache or the database.
      * The result is cached with the EmployeeId as the key.
      * If the Employee is not found in the cache, it fetches from the database.
+     * The read runs in a read-write transaction, so that it is served by the primary: a lagging
+     * replica could otherwise put a row that has just been changed or deleted back into the cache.
      *
      * @param EmployeeId the ID of the Employee to retrieve
      * @return the Employee with the given EmployeeId
      */
-    public Employee getEmployeeById(@Valid String EmployeeId) {
+    @Bulkhead
+    @Cacheable(value = CacheConfig.EMPLOYEES_CACHE, key = "#EmployeeId")
+    @Transactional
+    public Employee getEmployeeById(@Valid UUID EmployeeId) {
         log.info("Fetching Employee with ID: {} from the database", EmployeeId);
         return employeeRepository.findById(EmployeeId).orElseThrow(() ->
                 new EmployeeDetailsNotFoundException("Employee not found for the Id " + EmployeeId));
@@ -48,20 +138,88 @@ public class EmployeeService {
      * @param Employee the Employee object to create
      * @return the created Employee
      */
+    @Bulkhead
     public Employee createEmployee(@Valid Employee Employee) {
         Employee.setEmployeeId(generateEmployeeId());  // Automatically generate EmployeeId
-        return employeeRepository.save(Employee);  // Save the new Employee to the database
+        Employee.markNew();  // Insert directly instead of merging into an existing row
+        Employee savedEmployee = employeeRepository.save(Employee);  // Save the new Employee to the database
+        eventPublisher.publishEvent(EmployeeChangedEvent.created(savedEmployee));
+        return savedEmployee;
+    }
+
+    /**
+     * Validates and creates a list of new Employees in a single transaction.
+     * The Employees are inserted in JDBC batches; if any of them is invalid, none are created.
+     *
+     * @param employees the Employee objects to create
+     * @return the created Employees
+     * @throws BulkRequestTooLargeException if more Employees are passed than allowed per request
+     * @throws InvalidEmployeeDataException if any of the Employees is invalid
+     */
+    @Bulkhead
+    @Transactional
+    public List<Employee> createEmployees(List<Employee> employees) {
+        if (employees.size() > maxBulkEmployees)
+            throw new BulkRequestTooLargeException("At most " + maxBulkEmployees + " employees can be created per request, got " + employees.size());
+        validateEmployees(employees);
+        return insertEmployees(employees);
+    }
+
+    /**
+     * Creates a list of new Employees that have already been validated, in a single transaction,
+     * e.g. one chunk of a CSV import. The Employees are inserted in JDBC batches.
+     *
+     * @param employees the valid Employee objects to create
+     * @return the created Employees
+     */
+    @Bulkhead
+    @Transactional
+    public List<Employee> createValidatedEmployees(List<Employee> employees) {
+        return insertEmployees(employees);
+    }
+
+    private List<Employee> insertEmployees(List<Employee> employees) {
+        employees.forEach(employee -> {
+            employee.setEmployeeId(generateEmployeeId());
+            employee.markNew();
+        });
+        employeeBatchInsert.insertAll(employees);
+        employees.forEach(employee -> eventPublisher.publishEvent(EmployeeChangedEvent.created(employee)));
+        return employees;
+    }
+
+    /**
+     * Runs bean validation on every Employee of a bulk request and collects all violations,
+     * prefixing each message with the index of the offending Employee.
+     *
+     * @param employees the Employees to validate
+     * @throws InvalidEmployeeDataException if any of the Employees is invalid
+     */
+    private void validateEmployees(List<Employee> employees) {
+        List<String> errors = new ArrayList<>();
+        for (int i = 0; i < employees.size(); i++) {
+            for (ConstraintViolation<Employee> violation : validator.validate(employees.get(i), Default.class, Employee.Creation.class)) {
+                errors.add("[" + i + "]." + violation.getPropertyPath() + ": " + violation.getMessage());
+            }
+        }
+        if (!errors.isEmpty())
+            throw new InvalidEmployeeDataException(errors);
     }
 
     /**
      * Updates an existing Employee's information and applies cache operations.
      * The cache is updated with the new Employee data if Employee data is present in cache.
+     * The Employee is loaded and written back in one transaction, so the write is a plain UPDATE of the
+     * managed Employee, checked against its version, rather than a merge that reads the row again.
      *
      * @param EmployeeId      the ID of the Employee to update
      * @param updatedEmployee the updated Employee data
      * @return the updated Employee
      */
-    public Employee updateEmployee(String EmployeeId, @Valid Employee updatedEmployee) {
+    @Bulkhead
+    @Transactional
+    @CachePut(value = CacheConfig.EMPLOYEES_CACHE, key = "#EmployeeId")
+    public Employee updateEmployee(UUID EmployeeId, @Valid Employee updatedEmployee) {
         Employee Employee = employeeRepository.findById(EmployeeId).orElseThrow(() ->
                 new EmployeeDetailsNotFoundException("Employee not found for the Id - " + EmployeeId));
         Employee.setEmployeeName(updatedEmployee.getEmployeeName());
@@ -69,36 +227,138 @@ public class EmployeeService {
         Employee.setPhoneNumber(updatedEmployee.getPhoneNumber());
         Employee.setAddress(updatedEmployee.getAddress());
 
-        return employeeRepository.save(Employee);
+        Employee savedEmployee = employeeRepository.saveAndFlush(Employee);  // Flush before the cache is updated
+        eventPublisher.publishEvent(EmployeeChangedEvent.updated(savedEmployee));
+        return savedEmployee;
+    }
+
+    /**
+     * Applies a partial update to an Employee in a single UPDATE statement, without reading it first.
+     * Only the fields present in the patch are written, and only if the Employee still has the version
+     * the patch is based on. The cached Employee is evicted, since its new state is not read back.
+     *
+     * @param employeeId the ID of the Employee to update
+     * @param patch      the changed fields and the version they are based on
+     * @return the new version of the Employee
+     * @throws InvalidEmployeeDataException      if the patch does not change any field
+     * @throws EmployeeDetailsNotFoundException  if there is no Employee with the given ID
+     * @throws EmployeeVersionConflictException  if the Employee has been changed since the given version
+     */
+    @Bulkhead
+    @Transactional
+    @CacheEvict(value = CacheConfig.EMPLOYEES_CACHE, key = "#employeeId")
+    public long patchEmployee(UUID employeeId, @Valid EmployeePatch patch) {
+        Map<String, Object> changes = patch.changes();
+        if (changes.isEmpty())
+            throw new InvalidEmployeeDataException(List.of("The patch does not change any field"));
+        if (employeeCriteriaBuilder.patchEmployee(employeeId, patch.getVersion(), changes) == 0) {
+            // Only failed patches pay for finding out why
+            if (!employeeRepository.existsById(employeeId))
+                throw new EmployeeDetailsNotFoundException("Employee not found for the Id - " + employeeId);
+            throw new EmployeeVersionConflictException("Employee " + employeeId + " has been changed since version " + patch.getVersion());
+        }
+        eventPublisher.publishEvent(EmployeeChangedEvent.patched(employeeId, patch.getEmployeeName(), patch.getDept()));
+        return patch.getVersion() + 1;
     }
 
     /**
      * Deletes an Employee by their EmployeeId and evicts the corresponding cache.
+     * The Employee is deleted with a single DELETE statement, without loading it first;
+     * the number of deleted rows tells whether it existed.
      *
      * @param EmployeeId the ID of the Employee to delete
+     * @throws EmployeeDetailsNotFoundException if there is no Employee with the given ID
      */
-    public void deleteEmployee(String EmployeeId) {
-        Employee Employee = employeeRepository.findById(EmployeeId).orElseThrow(() ->
-                new EmployeeDetailsNotFoundException("Employee not found for the Id - " + EmployeeId));
-        employeeRepository.delete(Employee);  // Delete the Employee from the database
+    @Bulkhead
+    @Transactional
+    @CacheEvict(value = CacheConfig.EMPLOYEES_CACHE, key = "#EmployeeId")
+    public void deleteEmployee(UUID EmployeeId) {
+        if (employeeRepository.deleteEmployeeById(EmployeeId) == 0)
+            throw new EmployeeDetailsNotFoundException("Employee not found for the Id - " + EmployeeId);
+        eventPublisher.publishEvent(EmployeeChangedEvent.deleted(EmployeeId));
+    }
+
+    /**
+     * Deletes a list of Employees in one transaction. They are evicted from the cache once it has committed.
+     * The IDs are processed in chunks: the existing Employees of a chunk are found and locked
+     * with one SELECT ... IN and deleted with one DELETE ... IN, so a chunk costs two statements
+     * however many IDs it has. IDs without an Employee are reported rather than failing the request.
+     *
+     * @param employeeIds the IDs of the Employees to delete
+     * @return the outcome for every distinct ID, in request order
+     * @throws BulkRequestTooLargeException if the list has more IDs than allowed
+     */
+    @Bulkhead
+    @Transactional
+    public Map<UUID, DeleteOutcome> deleteEmployees(List<UUID> employeeIds) {
+        if (employeeIds.size() > maxBulkEmployees)
+            throw new BulkRequestTooLargeException("At most " + maxBulkEmployees + " employees can be deleted per request, got " + employeeIds.size());
+        Map<UUID, DeleteOutcome> outcomes = new LinkedHashMap<>();
+        List<UUID> distinctIds = new ArrayList<>(new LinkedHashSet<>(employeeIds));
+        for (int from = 0; from < distinctIds.size(); from += deleteChunkSize) {
+            List<UUID> chunk = distinctIds.subList(from, Math.min(from + deleteChunkSize, distinctIds.size()));
+            Set<UUID> existing = new HashSet<>(employeeRepository.lockExistingEmployeeIds(chunk));
+            if (!existing.isEmpty())
+                employeeRepository.deleteEmployeesByIds(existing);
+            for (UUID employeeId : chunk) {
+                if (existing.contains(employeeId)) {
+                    outcomes.put(employeeId, DeleteOutcome.DELETED);
+                    eventPublisher.publishEvent(EmployeeChangedEvent.deleted(employeeId));
+                } else {
+                    outcomes.put(employeeId, DeleteOutcome.NOT_FOUND);
+                }
+            }
+        }
+        return outcomes;
     }
 
     /**
-     * Utility method to generate a unique EmployeeId (example using UUID).
+     * Evicts a deleted Employee from the cache once the deletion has committed. Evicting before the commit
+     * would let a concurrent read, which still sees the Employee, cache it again until it expires.
+     *
+     * @param event the committed change
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void evictDeletedEmployee(EmployeeChangedEvent event) {
+        if (event.getType() != EmployeeChangedEvent.Type.DELETED)
+            return;
+        Cache cache = cacheManager.getCache(CacheConfig.EMPLOYEES_CACHE);
+        if (cache != null)
+            cache.evict(event.getEmployeeId());
+    }
+
+    /**
+     * Utility method to generate a unique EmployeeId using the configured key strategy.
      *
      * @return a unique EmployeeId
      */
-    private String generateEmployeeId() {
-        return java.util.UUID.randomUUID().toString(); // Generates a random UUID as the EmployeeId
+    private UUID generateEmployeeId() {
+        return employeeIdGenerator.nextId();
     }
 
     /**
      * Retrieves a list of all employees' names.
+     * The names are served from the in-memory department index, like the names of a department,
+     * so that they are never older than the version of the index the ETag was taken from.
+     * Until the index has been loaded, there is no version and the names come from the database.
      *
      * @return a list of employee names
      */
+    @Bulkhead
     public List<String> getAllEmployees(){
-        return employeeRepository.findAllEmployeeNames();
+        return departmentIndex.findAllEmployeeNames()
+                .orElseGet(employeeRepository::findAllEmployeeNames);
+    }
+
+    /**
+     * Retrieves the version of the list of all employees' names, maintained by the department index
+     * from the changes made by this service. It has to be read before the list, so that a list
+     * is never labelled with a version newer than its content.
+     *
+     * @return the version, or an empty Optional if it is not known yet
+     */
+    public Optional<String> getAllEmployeesVersion() {
+        return departmentIndex.namesVersion();
     }
 
     /**
@@ -106,43 +366,190 @@ public class EmployeeService {
      *
      * @return a list of Employee objects containing all employee details
      */
+    @Bulkhead
     public List<Employee> getAllEmployeeDetails(){
         return employeeRepository.findAll();
     }
 
+    /**
+     * Streams the details of all employees to the given consumer, one row at a time.
+     * Each employee is detached from the persistence context once it has been consumed,
+     * so memory usage stays constant regardless of the number of employees.
+     *
+     * @param consumer the consumer receiving each Employee in turn
+     */
+    @Bulkhead
+    @Transactional(readOnly = true)
+    public void streamAllEmployeeDetails(Consumer<Employee> consumer) {
+        try (Stream<Employee> employees = employeeRepository.streamAllEmployeeDetails()) {
+            employees.forEach(employee -> {
+                consumer.accept(employee);
+                entityManager.detach(employee);
+            });
+        }
+    }
+
     /**
      * Retrieves the total count of employees.
+     * The count is maintained in memory, falling back to the database until it has been seeded.
      *
      * @return the total number of employees
      */
     public long getTotalEmployeeCount(){
-        return employeeRepository.count();
+        return employeeCounter.totalEmployees().orElseGet(employeeRepository::count);
+    }
+
+    /**
+     * Retrieves the number of employees in a specific department.
+     * The count is maintained by the department index, falling back to the database until the index has been loaded.
+     *
+     * @param department the department name
+     * @return the number of employees in the given department
+     */
+    public long getEmployeeCountFromDept(String department){
+        return departmentIndex.countEmployees(department)
+                .orElseGet(() -> employeeRepository.countByDept(department));
     }
 
     /**
      * Retrieves a list of employee names from a specific department.
-     * Throws an exception if the department is not found.
+     * The names are served from the in-memory department index, falling back to the database
+     * until the index has been loaded. Throws an exception if the department is not found.
      *
      * @param department the department name
      * @return a list of employee names in the given department
      * @throws DepartmentNotFoundException if the department is not found
      */
     public List<String> getEmployeeFromDept(String department){
-        List<String> employees = employeeRepository.getEmployeeFromDept(department);
+        List<String> employees = departmentIndex.findEmployeeNames(department)
+                .orElseGet(() -> employeeRepository.getEmployeeFromDept(department));
         if(employees.isEmpty())
             throw new DepartmentNotFoundException("Entered Department is invalid - " + department);
         return employees;
     }
 
+    /**
+     * Retrieves the version of the list of employee names of a department.
+     * Like {@link #getAllEmployeesVersion()}, it has to be read before the list.
+     *
+     * @param department the department name
+     * @return the version, or an empty Optional if it is not known
+     */
+    public Optional<String> getEmployeeFromDeptVersion(String department) {
+        return departmentIndex.namesVersion(department);
+    }
+
+    /**
+     * Searches employees by the start of their name, ignoring case, for type-ahead lookups.
+     * The search is served from the in-memory department index and never queries the database;
+     * until the index has been loaded, it is rejected with a Retry-After.
+     *
+     * @param prefix     the start of the name
+     * @param department the department to search in; null or blank searches all departments
+     * @param limit      the maximum number of matches, capped at the configured maximum
+     * @return the first matches in alphabetical order
+     * @throws InvalidSearchRequestException if the limit is not positive
+     */
+    public List<EmployeeNameMatch> searchEmployees(String prefix, String department, int limit) {
+        if (limit <= 0)
+            throw new InvalidSearchRequestException("Limit must be positive - " + limit);
+        String scope = department == null || department.isBlank() ? null : department;
+        return departmentIndex.searchEmployees(prefix, scope, Math.min(limit, maxSearchLimit))
+                .orElseThrow(() -> new ServiceOverloadedException("Employee search is not available until the department index has been loaded", 1));
+    }
+
     /**
      * Filters employees based on optional query parameters: department, minSalary, and maxSalary.
+     * Concurrent calls with the same filter share one query.
      *
      * @param department the department name (can be null)
      * @param minSalary  the minimum salary (can be null)
      * @param maxSalary  the maximum salary (can be null)
      * @return a list of employees matching the filter criteria
      */
-    public List<Employee> filterEmployee(String department, double minSalary, double maxSalary){
+    @Bulkhead
+    @Coalesce
+    public List<Employee> filterEmployee(String department, Double minSalary, Double maxSalary){
         return employeeCriteriaBuilder.filterEmployee(department, minSalary, maxSalary);
     }
+
+    /**
+     * Retrieves a page of employee names in employeeId order, starting after the given cursor.
+     *
+     * @param cursor   the continuation token of the previous page (null for the first page)
+     * @param pageSize the requested page size, capped at the configured maximum
+     * @return a page of employee names with the continuation token for the next page
+     */
+    @Bulkhead
+    public KeysetPage<String> getAllEmployeesPage(String cursor, int pageSize) {
+        int limit = resolvePageSize(pageSize);
+        List<EmployeeNameView> rows = employeeRepository.findEmployeeNamesAfter(decodeAfterId(cursor), PageRequest.ofSize(limit + 1));
+        KeysetPage<EmployeeNameView> page = toPage(rows, limit, row -> KeysetCursor.afterEmployeeId(row.getEmployeeId()));
+        return new KeysetPage<>(page.getItems().stream().map(EmployeeNameView::getEmployeeName).toList(), page.getNextCursor());
+    }
+
+    /**
+     * Retrieves a page of employee details in employeeId order, starting after the given cursor.
+     *
+     * @param cursor   the continuation token of the previous page (null for the first page)
+     * @param pageSize the requested page size, capped at the configured maximum
+     * @return a page of employees with the continuation token for the next page
+     */
+    @Bulkhead
+    public KeysetPage<Employee> getAllEmployeeDetailsPage(String cursor, int pageSize) {
+        int limit = resolvePageSize(pageSize);
+        List<Employee> rows = employeeRepository.findEmployeesAfter(decodeAfterId(cursor), PageRequest.ofSize(limit + 1));
+        return toPage(rows, limit, employee -> KeysetCursor.afterEmployeeId(employee.getEmployeeId()));
+    }
+
+    /**
+     * Filters employees like {@link #filterEmployee(String, Double, Double)} and returns one page of the
+     * result in (department, salary, employeeId) order, starting after the given cursor.
+     *
+     * @param department the department name (can be null)
+     * @param minSalary  the minimum salary (can be null)
+     * @param maxSalary  the maximum salary (can be null)
+     * @param cursor     the continuation token of the previous page (null for the first page)
+     * @param pageSize   the requested page size, capped at the configured maximum
+     * @return a page of employees matching the filter criteria with the continuation token for the next page
+     */
+    @Bulkhead
+    public KeysetPage<Employee> filterEmployeePage(String department, Double minSalary, Double maxSalary, String cursor, int pageSize) {
+        int limit = resolvePageSize(pageSize);
+        KeysetCursor after = cursor == null ? null : KeysetCursor.decode(cursor);
+        if (after != null && after.getDepartment() == null) {
+            throw new InvalidPageRequestException("Cursor does not belong to a filtered listing - " + cursor);
+        }
+        List<Employee> rows = employeeCriteriaBuilder.filterEmployeeAfter(department, minSalary, maxSalary, after, limit + 1);
+        return toPage(rows, limit, employee ->
+                new KeysetCursor(employee.getDept(), employee.getSalary(), employee.getEmployeeId()));
+    }
+
+    /**
+     * Validates the requested page size and caps it at the configured maximum.
+     */
+    private int resolvePageSize(int pageSize) {
+        if (pageSize < 1)
+            throw new InvalidPageRequestException("Page size must be positive - " + pageSize);
+        return Math.min(pageSize, maxPageSize);
+    }
+
+    /**
+     * Decodes a cursor keyed on employeeId. Every generated employeeId sorts after the nil UUID,
+     * so the first page simply seeks after it.
+     */
+    private UUID decodeAfterId(String cursor) {
+        return cursor == null ? EmployeeIdGenerator.NIL_ID : KeysetCursor.decode(cursor).getEmployeeId();
+    }
+
+    /**
+     * Cuts the rows fetched with one extra row of look-ahead down to the page size
+     * and derives the continuation token from the last row of the page.
+     */
+    private <T> KeysetPage<T> toPage(List<T> rows, int limit, Function<T, KeysetCursor> cursorOf) {
+        if (rows.size() <= limit)
+            return new KeysetPage<>(rows, null);
+        List<T> items = rows.subList(0, limit);
+        return new KeysetPage<>(items, cursorOf.apply(items.get(limit - 1)).encode());
+    }
 }
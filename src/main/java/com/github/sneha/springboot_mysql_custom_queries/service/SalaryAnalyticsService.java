@@ -0,0 +1,243 @@
+package com.github.sneha.springboot_mysql_custom_queries.service;
+
+import com.github.sneha.springboot_mysql_custom_queries.analytics.SalarySnapshot;
+import com.github.sneha.springboot_mysql_custom_queries.event.EmployeeChangedEvent;
+import com.github.sneha.springboot_mysql_custom_queries.exception.DepartmentNotFoundException;
+import com.github.sneha.springboot_mysql_custom_queries.exception.InvalidAnalyticsRequestException;
+import com.github.sneha.springboot_mysql_custom_queries.exception.ServiceOverloadedException;
+import com.github.sneha.springboot_mysql_custom_queries.model.DepartmentPayroll;
+import com.github.sneha.springboot_mysql_custom_queries.model.RaiseScenario;
+import com.github.sneha.springboot_mysql_custom_queries.model.RaiseSimulation;
+import com.github.sneha.springboot_mysql_custom_queries.model.SalaryHistogram;
+import com.github.sneha.springboot_mysql_custom_queries.model.SalaryPercentiles;
+import com.github.sneha.springboot_mysql_custom_queries.repository.EmployeeRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Service class for salary analytics: histograms, percentiles and raise simulations across departments.
+ * Queries are answered from an in-memory columnar SalarySnapshot instead of loading Employee entities.
+ * The snapshot is rebuilt from the database on a schedule, when employees have changed since it was taken.
+ *
+ * Until the first snapshot has been taken, queries are rejected with a Retry-After, like searches
+ * before the department index is loaded, rather than answered as if there were no employees.
+ *
+ * @author sneharavikumartl
+ */
+@Service
+@Slf4j
+public class SalaryAnalyticsService {
+
+    private static final int MAX_BUCKETS = 1000;
+
+    private final EmployeeRepository employeeRepository;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private volatile SalarySnapshot snapshot = SalarySnapshot.empty();
+
+    private volatile boolean ready;
+
+    /**
+     * Set by every employee change and cleared when a new snapshot is taken.
+     */
+    private final AtomicBoolean changed = new AtomicBoolean(true);
+
+    public SalaryAnalyticsService(EmployeeRepository employeeRepository, TransactionTemplate transactionTemplate, MeterRegistry meterRegistry) {
+        this.employeeRepository = employeeRepository;
+        this.transactionTemplate = transactionTemplate;
+        Gauge.builder("employee.analytics.snapshot.memory", this, service -> service.snapshot.columnBytes())
+                .description("Heap used by the columns of the salary analytics snapshot")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        Gauge.builder("employee.analytics.snapshot.size", this, service -> service.snapshot.size())
+                .description("Number of employees in the salary analytics snapshot")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Marks the snapshot as out of date after a committed employee change.
+     *
+     * @param event the change
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEmployeeChanged(EmployeeChangedEvent event) {
+        changed.set(true);
+    }
+
+    /**
+     * Takes a new snapshot if employees have changed since the last one was taken.
+     * Queries keep being answered from the previous snapshot while the new one is built.
+     */
+    @Scheduled(fixedDelayString = "${employee.analytics.refresh-interval}")
+    public void refresh() {
+        if (!changed.getAndSet(false)) {
+            return;
+        }
+        try {
+            Instant takenAt = Instant.now();
+            SalarySnapshot.Builder builder = new SalarySnapshot.Builder();
+            transactionTemplate.executeWithoutResult(status -> {
+                try (var employees = employeeRepository.streamAllDepartmentSalaries()) {
+                    employees.forEach(employee -> builder.add(employee.getDept(), employee.getSalary()));
+                }
+            });
+            snapshot = builder.build(takenAt);
+            ready = true;
+            log.debug("Salary analytics snapshot taken with {} employees", snapshot.size());
+        } catch (RuntimeException e) {
+            changed.set(true);
+            throw e;
+        }
+    }
+
+    /**
+     * Computes a salary histogram.
+     *
+     * @param department the department (optional, all departments if null or empty)
+     * @param min        the lower bound of the first bucket (optional, the lowest salary if null)
+     * @param max        the upper bound of the last bucket (optional, the highest salary if null)
+     * @param buckets    the number of buckets
+     * @return the number of employees per bucket
+     */
+    public SalaryHistogram getHistogram(String department, Double min, Double max, int buckets) {
+        if (buckets < 1 || buckets > MAX_BUCKETS) {
+            throw new InvalidAnalyticsRequestException("Number of buckets must be between 1 and " + MAX_BUCKETS + " - " + buckets);
+        }
+        SalarySnapshot current = currentSnapshot();
+        int departmentId = resolveDepartment(current, department);
+        double lower = min != null ? min : current.minSalary(departmentId);
+        double upper = max != null ? max : current.maxSalary(departmentId);
+        if (Double.isNaN(lower) || Double.isNaN(upper)) {
+            return new SalaryHistogram(departmentName(current, departmentId), 0, 0, 0, new long[buckets], current.getTakenAt());
+        }
+        if (upper < lower) {
+            throw new InvalidAnalyticsRequestException("Maximum salary must not be below the minimum salary - " + lower + " > " + upper);
+        }
+        if (upper == lower) {
+            upper = lower + 1;
+        }
+        long[] counts = current.histogram(departmentId, lower, upper, buckets);
+        return new SalaryHistogram(departmentName(current, departmentId), lower, upper, (upper - lower) / buckets, counts, current.getTakenAt());
+    }
+
+    /**
+     * Computes salary percentiles.
+     *
+     * @param department  the department (optional, all departments if null or empty)
+     * @param percentiles the percentiles to compute, each above 0 and at most 100
+     * @return the salary at each percentile
+     */
+    public SalaryPercentiles getPercentiles(String department, List<Double> percentiles) {
+        for (Double percentile : percentiles) {
+            if (percentile == null || !(percentile > 0 && percentile <= 100)) {
+                throw new InvalidAnalyticsRequestException("Percentiles must be above 0 and at most 100 - " + percentile);
+            }
+        }
+        SalarySnapshot current = currentSnapshot();
+        int departmentId = resolveDepartment(current, department);
+        double[] values = current.percentiles(departmentId, percentiles.stream().mapToDouble(Double::doubleValue).toArray());
+        Map<Double, Double> salaries = new LinkedHashMap<>();
+        for (int i = 0; i < values.length; i++) {
+            salaries.put(percentiles.get(i), values[i]);
+        }
+        long employeeCount = departmentId < 0 ? current.size() : current.departmentSize(departmentId);
+        return new SalaryPercentiles(departmentName(current, departmentId), employeeCount, salaries, current.getTakenAt());
+    }
+
+    /**
+     * Simulates a salary raise and reports the resulting payrolls.
+     *
+     * @param scenario the raise per department and the optional salary bounds
+     * @return the payroll of every department before and after the raise
+     */
+    public RaiseSimulation simulateRaise(RaiseScenario scenario) {
+        Map<String, Double> raisePercentByDepartment = scenario.getRaisePercentByDepartment();
+        if (raisePercentByDepartment == null) {
+            throw new InvalidAnalyticsRequestException("Raises by department must be an object, not null");
+        }
+        if (!Double.isFinite(scenario.getDefaultRaisePercent())) {
+            throw new InvalidAnalyticsRequestException("Default raise must be a finite percentage - " + scenario.getDefaultRaisePercent());
+        }
+        raisePercentByDepartment.forEach((department, raisePercent) -> {
+            // An empty department would resolve to all departments
+            if (department == null || department.isEmpty()) {
+                throw new InvalidAnalyticsRequestException("Department is missing for a raise of " + raisePercent);
+            }
+            if (raisePercent == null) {
+                throw new InvalidAnalyticsRequestException("Raise is missing for department - " + department);
+            }
+            if (!Double.isFinite(raisePercent)) {
+                throw new InvalidAnalyticsRequestException("Raise must be a finite percentage for department - " + department + ": " + raisePercent);
+            }
+        });
+        SalarySnapshot current = currentSnapshot();
+        String[] departments = current.departments();
+        double[] raisePercents = new double[departments.length];
+        Arrays.fill(raisePercents, scenario.getDefaultRaisePercent());
+        raisePercentByDepartment.forEach((department, raisePercent) ->
+                raisePercents[resolveDepartment(current, department)] = raisePercent);
+        double minSalary = scenario.getMinSalary() == null ? Double.NaN : scenario.getMinSalary();
+        double maxSalary = scenario.getMaxSalary() == null ? Double.NaN : scenario.getMaxSalary();
+        if (minSalary > maxSalary) {
+            throw new InvalidAnalyticsRequestException("Maximum salary must not be below the minimum salary - " + minSalary + " > " + maxSalary);
+        }
+
+        double[] payrolls = current.simulateRaise(raisePercents, minSalary, maxSalary);
+        List<DepartmentPayroll> departmentPayrolls = new ArrayList<>(departments.length);
+        double currentPayroll = 0;
+        double simulatedPayroll = 0;
+        for (int id = 0; id < departments.length; id++) {
+            departmentPayrolls.add(new DepartmentPayroll(departments[id], current.departmentSize(id), payrolls[2 * id], payrolls[2 * id + 1]));
+            currentPayroll += payrolls[2 * id];
+            simulatedPayroll += payrolls[2 * id + 1];
+        }
+        return new RaiseSimulation(currentPayroll, simulatedPayroll, departmentPayrolls, current.getTakenAt());
+    }
+
+    /**
+     * Whether the first snapshot has been taken.
+     *
+     * @return true if queries are served
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    private SalarySnapshot currentSnapshot() {
+        if (!ready) {
+            throw new ServiceOverloadedException("Salary analytics are not available until the first snapshot has been taken", 1);
+        }
+        return snapshot;
+    }
+
+    /**
+     * Resolves a department to its id in the snapshot.
+     *
+     * @return the department id, or -1 for all departments if no department is given
+     */
+    private int resolveDepartment(SalarySnapshot current, String department) {
+        if (department == null || department.isEmpty()) {
+            return -1;
+        }
+        return current.departmentId(department).orElseThrow(() ->
+                new DepartmentNotFoundException("Entered Department is invalid - " + department));
+    }
+
+    private String departmentName(SalarySnapshot current, int departmentId) {
+        return departmentId < 0 ? null : current.departmentName(departmentId);
+    }
+}
@@ -0,0 +1,89 @@
+package com.github.sneha.springboot_mysql_custom_queries.service;
+
+import com.github.sneha.springboot_mysql_custom_queries.advice.Bulkhead;
+import com.github.sneha.springboot_mysql_custom_queries.event.EmployeeChangedEvent;
+import com.github.sneha.springboot_mysql_custom_queries.model.DepartmentSalaryStats;
+import com.github.sneha.springboot_mysql_custom_queries.model.SalaryStatsReport;
+import com.github.sneha.springboot_mysql_custom_queries.repository.SalaryStatsRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Service class for the per-department salary statistics.
+ * The statistics are computed into the employee_salary_stats summary table on a schedule,
+ * and only when employees have changed since the last computation, so requests never aggregate.
+ *
+ * @author sneharavikumartl
+ */
+@Service
+@Slf4j
+public class SalaryStatsService {
+
+    @Autowired
+    private SalaryStatsRepository salaryStatsRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    /**
+     * Set by every employee change and cleared by a refresh. Starts out set, so that the
+     * first refresh after startup picks up changes made while the application was down.
+     */
+    private final AtomicBoolean changed = new AtomicBoolean(true);
+
+    /**
+     * Marks the statistics as out of date after a committed employee change.
+     *
+     * @param event the change
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEmployeeChanged(EmployeeChangedEvent event) {
+        changed.set(true);
+    }
+
+    /**
+     * Recomputes the statistics if employees have changed since the last refresh.
+     * Changes committed while the refresh is running mark the statistics out of date again.
+     */
+    @Scheduled(fixedDelayString = "${employee.stats.refresh-interval}")
+    public void refresh() {
+        if (!changed.getAndSet(false)) {
+            return;
+        }
+        try {
+            Integer departments = transactionTemplate.execute(status -> {
+                salaryStatsRepository.deleteAllStats();
+                return salaryStatsRepository.insertStats(Instant.now().truncatedTo(ChronoUnit.MICROS));
+            });
+            log.debug("Salary statistics refreshed for {} departments", departments);
+        } catch (RuntimeException e) {
+            changed.set(true);
+            throw e;
+        }
+    }
+
+    /**
+     * Retrieves the salary statistics of all departments from the summary table.
+     *
+     * @return the statistics with the time they were computed
+     */
+    @Bulkhead
+    @Transactional(readOnly = true)
+    public SalaryStatsReport getSalaryStats() {
+        List<DepartmentSalaryStats> departments = salaryStatsRepository.findAllByOrderByDeptAsc();
+        Instant refreshedAt = departments.isEmpty() ? null : departments.get(0).getRefreshedAt();
+        Long ageSeconds = refreshedAt == null ? null : Duration.between(refreshedAt, Instant.now()).toSeconds();
+        return new SalaryStatsReport(refreshedAt, ageSeconds, changed.get(), departments);
+    }
+}
@@ -0,0 +1,59 @@
+package com.github.sneha.springboot_mysql_custom_queries.utils;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Generates employeeIds according to the configured key strategy.
+ *
+ * - time-ordered: UUIDv7 style ids whose first 48 bits are the Unix epoch milliseconds.
+ *   Consecutive inserts land next to each other in the InnoDB clustered index instead of
+ *   splitting random pages.
+ * - random: classic random (version 4) UUIDs.
+ *
+ * @author sneharavikumartl
+ */
+@Component
+public class EmployeeIdGenerator {
+
+    /**
+     * The nil UUID, which sorts before every generated employeeId.
+     */
+    public static final UUID NIL_ID = new UUID(0L, 0L);
+
+    private final boolean timeOrdered;
+
+    public EmployeeIdGenerator(@Value("${employee.id.strategy}") String strategy) {
+        switch (strategy) {
+            case "time-ordered" -> this.timeOrdered = true;
+            case "random" -> this.timeOrdered = false;
+            default -> throw new IllegalArgumentException("Unknown employee.id.strategy - " + strategy);
+        }
+    }
+
+    /**
+     * Generates a new unique employeeId.
+     *
+     * @return a unique employeeId
+     */
+    public UUID nextId() {
+        return timeOrdered ? timeOrderedId(System.currentTimeMillis()) : UUID.randomUUID();
+    }
+
+    /**
+     * Builds a version 7 UUID: 48 bits of Unix epoch milliseconds, the version nibble,
+     * 12 random bits, the IETF variant and 62 further random bits.
+     *
+     * @param epochMillis the timestamp to embed
+     * @return a time-ordered UUID
+     */
+    static UUID timeOrderedId(long epochMillis) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long mostSignificantBits = (epochMillis << 16) | 0x7000L | (random.nextLong() & 0x0FFFL);
+        long leastSignificantBits = (random.nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+        return new UUID(mostSignificantBits, leastSignificantBits);
+    }
+}
@@ -14,4 +14,63 @@ public class EmployeeQueryProvider {
     // and have a salary within the specified range.
     public static final String FIND_EMPLOYEES_WITH_FILTER =
             "SELECT e FROM Employee e WHERE e.dept=:department and e.salary >= :minSalary and e.salary <= :maxSalary";
+
+    // JPQL Query to seek the next page of employee names after the given employeeId (keyset pagination)
+    public static final String FIND_EMPLOYEE_NAMES_AFTER_ID =
+            "SELECT e.employeeId AS employeeId, e.employeeName AS employeeName FROM Employee e " +
+                    "WHERE e.employeeId > :afterId ORDER BY e.employeeId";
+
+    // JPQL Query to seek the next page of employee details after the given employeeId (keyset pagination)
+    public static final String FIND_EMPLOYEES_AFTER_ID =
+            "SELECT e FROM Employee e WHERE e.employeeId > :afterId ORDER BY e.employeeId";
+
+    // JPQL Query to stream all employee details row by row
+    public static final String STREAM_ALL_EMPLOYEE_DETAILS = "SELECT e FROM Employee e";
+
+    // JPQL Query to count the employees of every department
+    public static final String COUNT_EMPLOYEES_BY_DEPARTMENT =
+            "SELECT e.dept AS dept, COUNT(e) AS employeeCount FROM Employee e GROUP BY e.dept";
+
+    // JPQL Query to stream the id, name and department of all employees
+    public static final String STREAM_ALL_EMPLOYEE_SUMMARIES =
+            "SELECT e.employeeId AS employeeId, e.employeeName AS employeeName, e.dept AS dept FROM Employee e";
+
+    // JPQL Query to stream the department and salary of all employees
+    public static final String STREAM_ALL_DEPARTMENT_SALARIES =
+            "SELECT e.dept AS dept, e.salary AS salary FROM Employee e";
+
+    // JPQL Query to delete an employee in a single statement, without loading it first
+    public static final String DELETE_EMPLOYEE_BY_ID = "DELETE FROM Employee e WHERE e.employeeId = :employeeId";
+
+    // JPQL Query to find which of the given employeeIds exist, used with a pessimistic lock
+    // so that the rows cannot be deleted concurrently before they are deleted in bulk
+    public static final String FIND_EMPLOYEE_IDS_IN =
+            "SELECT e.employeeId FROM Employee e WHERE e.employeeId IN :employeeIds";
+
+    // JPQL Query to delete a chunk of employees in a single statement
+    public static final String DELETE_EMPLOYEES_BY_IDS = "DELETE FROM Employee e WHERE e.employeeId IN :employeeIds";
+
+    // Native SQL to clear the salary statistics summary table
+    public static final String DELETE_SALARY_STATS = "DELETE FROM employee_salary_stats";
+
+    // Native SQL to compute the salary statistics of every department in one pass over the employees.
+    // Percentiles use the nearest-rank method: the lowest salary whose rank within its department
+    // reaches the given fraction of the department's headcount.
+    public static final String INSERT_SALARY_STATS =
+            "INSERT INTO employee_salary_stats (department, employee_count, average_salary, min_salary, max_salary, " +
+                    "median_salary, p90_salary, refreshed_at) " +
+                    "SELECT department, COUNT(*), AVG(salary), MIN(salary), MAX(salary), " +
+                    "MIN(CASE WHEN salary_rank >= CEIL(0.5 * department_count) THEN salary END), " +
+                    "MIN(CASE WHEN salary_rank >= CEIL(0.9 * department_count) THEN salary END), " +
+                    ":refreshedAt " +
+                    "FROM (SELECT department, salary, " +
+                    "ROW_NUMBER() OVER (PARTITION BY department ORDER BY salary) AS salary_rank, " +
+                    "COUNT(*) OVER (PARTITION BY department) AS department_count " +
+                    "FROM employees) ranked " +
+                    "GROUP BY department";
+
+    // Number of rows fetched per round trip while streaming. Together with useCursorFetch=true on the
+    // datasource url this makes MySQL Connector/J read through a server-side cursor instead of
+    // buffering the complete result set on the client.
+    public static final String STREAMING_FETCH_SIZE = "1000";
 }
\ No newline at end of file
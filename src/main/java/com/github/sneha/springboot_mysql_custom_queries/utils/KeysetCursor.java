@@ -0,0 +1,99 @@
+package com.github.sneha.springboot_mysql_custom_queries.utils;
+
+import com.github.sneha.springboot_mysql_custom_queries.exception.InvalidPageRequestException;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Position of the last row returned by a keyset paginated query.
+ * Plain listings are keyed on employeeId only, filtered listings on (department, salary, employeeId).
+ * The cursor is handed to clients as an opaque URL-safe token.
+ *
+ * @author sneharavikumartl
+ */
+@Getter
+@AllArgsConstructor
+public class KeysetCursor {
+
+    private static final byte FORMAT_VERSION = 2;
+
+    /**
+     * The department of the last row, or null for cursors keyed on employeeId only.
+     */
+    private final String department;
+
+    /**
+     * The salary of the last row, or null for cursors keyed on employeeId only.
+     */
+    private final Double salary;
+
+    /**
+     * The employeeId of the last row.
+     */
+    private final UUID employeeId;
+
+    /**
+     * Creates a cursor keyed on employeeId only.
+     *
+     * @param employeeId the employeeId of the last row
+     * @return the cursor
+     */
+    public static KeysetCursor afterEmployeeId(UUID employeeId) {
+        return new KeysetCursor(null, null, employeeId);
+    }
+
+    /**
+     * Encodes this cursor into an opaque URL-safe continuation token.
+     *
+     * @return the continuation token
+     */
+    public String encode() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(FORMAT_VERSION);
+            out.writeLong(employeeId.getMostSignificantBits());
+            out.writeLong(employeeId.getLeastSignificantBits());
+            out.writeBoolean(department != null);
+            if (department != null) {
+                out.writeUTF(department);
+                out.writeDouble(salary);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes.toByteArray());
+    }
+
+    /**
+     * Decodes a continuation token previously produced by {@link #encode()}.
+     *
+     * @param token the continuation token
+     * @return the decoded cursor
+     * @throws InvalidPageRequestException if the token is malformed
+     */
+    public static KeysetCursor decode(String token) {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(Base64.getUrlDecoder().decode(token)))) {
+            if (in.readByte() != FORMAT_VERSION) {
+                throw new InvalidPageRequestException("Unsupported cursor - " + token);
+            }
+            UUID employeeId = new UUID(in.readLong(), in.readLong());
+            if (!in.readBoolean()) {
+                return afterEmployeeId(employeeId);
+            }
+            String department = in.readUTF();
+            double salary = in.readDouble();
+            return new KeysetCursor(department, salary, employeeId);
+        } catch (IOException | IllegalArgumentException e) {
+            throw new InvalidPageRequestException("Invalid cursor - " + token);
+        }
+    }
+}
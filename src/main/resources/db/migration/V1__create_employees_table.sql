@@ -0,0 +1,17 @@
+-- Creates the employees table as mapped by the Employee entity.
+-- Databases created earlier by hibernate.ddl-auto already have this table; Flyway baselines them
+-- at this version (spring.flyway.baseline-on-migrate) instead of running this script.
+-- If their employee_id column is not BINARY(16) yet, it is converted automatically after baselining
+-- by db/vendor/mysql/V5__convert_employee_id_to_binary.sql.
+
+CREATE TABLE employees (
+    employee_id   BINARY(16)   NOT NULL,
+    employee_name VARCHAR(255) NOT NULL,
+    email         VARCHAR(255) NOT NULL,
+    phone_number  VARCHAR(255),
+    address       VARCHAR(255),
+    salary        DOUBLE       NOT NULL,
+    department    VARCHAR(255) NOT NULL,
+    PRIMARY KEY (employee_id),
+    CONSTRAINT uk_employees_email UNIQUE (email)
+);
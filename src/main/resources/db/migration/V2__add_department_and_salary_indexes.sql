@@ -0,0 +1,13 @@
+-- Indexes for the department lookups and the salary filters.
+--
+-- (department, salary) serves equality on department, optionally combined with a salary range
+-- (FIND_EMPLOYEES_BY_DEPARTMENT, FIND_EMPLOYEES_WITH_FILTER, countByDept, the Criteria filters),
+-- and the (department, salary, employee_id) keyset order of the filtered pages, since InnoDB
+-- appends the primary key to every secondary index. A separate (department) index would be
+-- a redundant prefix of it.
+--
+-- (salary) serves salary range filters without a department.
+
+CREATE INDEX idx_employees_department_salary ON employees (department, salary);
+
+CREATE INDEX idx_employees_salary ON employees (salary);
@@ -0,0 +1,14 @@
+-- Summary table holding the salary statistics of every department.
+-- It is recomputed as a whole by SalaryStatsService, requests only read it.
+
+CREATE TABLE employee_salary_stats (
+    department     VARCHAR(255) NOT NULL,
+    employee_count BIGINT       NOT NULL,
+    average_salary DOUBLE       NOT NULL,
+    min_salary     DOUBLE       NOT NULL,
+    max_salary     DOUBLE       NOT NULL,
+    median_salary  DOUBLE       NOT NULL,
+    p90_salary     DOUBLE       NOT NULL,
+    refreshed_at   TIMESTAMP(6) NOT NULL,
+    PRIMARY KEY (department)
+);
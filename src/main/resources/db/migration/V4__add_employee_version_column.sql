@@ -0,0 +1,7 @@
+-- Row version for optimistic locking, mapped by Employee.version.
+--
+-- Every update increments it, and updates carry the version they were based on in their WHERE clause,
+-- so a write based on a stale read affects no rows instead of silently overwriting a concurrent change.
+-- Existing rows start at version 0.
+
+ALTER TABLE employees ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
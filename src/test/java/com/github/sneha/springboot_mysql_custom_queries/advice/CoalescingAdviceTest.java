@@ -0,0 +1,227 @@
+package com.github.sneha.springboot_mysql_custom_queries.advice;
+
+import com.github.sneha.springboot_mysql_custom_queries.event.EmployeeChangedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Runs concurrent calls through the CoalescingAdvice, holding the first call inside the method
+ * until the others have arrived, so that every call below either joins it or provably does not.
+ *
+ * @author sneharavikumartl
+ */
+class CoalescingAdviceTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final List<Thread> callers = new ArrayList<>();
+
+    @AfterEach
+    void stopCallers() throws InterruptedException {
+        for (Thread caller : callers) {
+            caller.interrupt();
+            caller.join(TimeUnit.SECONDS.toMillis(5));
+        }
+    }
+
+    @Test
+    void concurrentCallsWithEqualArgumentsShareOneExecution() throws Exception {
+        Lookup target = new Lookup();
+        Lookup lookup = proxy(target, Duration.ofSeconds(10));
+
+        CompletableFuture<String> first = call(() -> lookup.find("Sales"));
+        target.awaitEntered(1);
+        List<CompletableFuture<String>> joined = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            joined.add(callAndWaitUntilBlocked(() -> lookup.find("Sales")));
+        }
+        target.release(1);
+
+        assertThat(first.get(5, TimeUnit.SECONDS)).isEqualTo("Sales-1");
+        for (CompletableFuture<String> call : joined) {
+            assertThat(call.get(5, TimeUnit.SECONDS)).isEqualTo("Sales-1");
+        }
+        assertThat(target.executions).hasValue(1);
+        assertThat(count("executed")).isEqualTo(1);
+        assertThat(count("joined")).isEqualTo(3);
+    }
+
+    @Test
+    void callsWithDifferentArgumentsDoNotWaitForEachOther() throws Exception {
+        Lookup target = new Lookup();
+        Lookup lookup = proxy(target, Duration.ofSeconds(10));
+
+        CompletableFuture<String> sales = call(() -> lookup.find("Sales"));
+        CompletableFuture<String> finance = call(() -> lookup.find("Finance"));
+        // Both are running before either is released
+        target.awaitEntered(2);
+        target.release(1);
+        target.release(2);
+
+        assertThat(sales.get(5, TimeUnit.SECONDS)).startsWith("Sales-");
+        assertThat(finance.get(5, TimeUnit.SECONDS)).startsWith("Finance-");
+        assertThat(count("joined")).isZero();
+    }
+
+    @Test
+    void joinedCallsRethrowTheExceptionOfTheRunningCall() throws Exception {
+        Lookup target = new Lookup();
+        target.failure = new IllegalStateException("Database unavailable");
+        Lookup lookup = proxy(target, Duration.ofSeconds(10));
+
+        CompletableFuture<String> first = call(() -> lookup.find("Sales"));
+        target.awaitEntered(1);
+        CompletableFuture<String> joined = callAndWaitUntilBlocked(() -> lookup.find("Sales"));
+        target.release(1);
+
+        assertThatThrownBy(() -> first.get(5, TimeUnit.SECONDS)).hasCause(target.failure);
+        assertThatThrownBy(() -> joined.get(5, TimeUnit.SECONDS)).hasCause(target.failure);
+        assertThat(target.executions).hasValue(1);
+
+        target.failure = null;
+        target.release(2);
+        assertThat(lookup.find("Sales")).isEqualTo("Sales-2");
+    }
+
+    @Test
+    void callsWaitingTooLongRunThemselves() throws Exception {
+        Lookup target = new Lookup();
+        Lookup lookup = proxy(target, Duration.ofMillis(50));
+
+        CompletableFuture<String> first = call(() -> lookup.find("Sales"));
+        target.awaitEntered(1);
+        CompletableFuture<String> late = call(() -> lookup.find("Sales"));
+        target.awaitEntered(2);
+        target.release(1);
+        target.release(2);
+
+        assertThat(first.get(5, TimeUnit.SECONDS)).isEqualTo("Sales-1");
+        assertThat(late.get(5, TimeUnit.SECONDS)).isEqualTo("Sales-2");
+        assertThat(count("timed-out")).isEqualTo(1);
+    }
+
+    @Test
+    void callsAfterAnEmployeeChangeDoNotJoinEarlierCalls() throws Exception {
+        Lookup target = new Lookup();
+        CoalescingAdvice advice = new CoalescingAdvice(Duration.ofSeconds(10), meterRegistry);
+        Lookup lookup = proxy(target, advice);
+
+        CompletableFuture<String> beforeChange = call(() -> lookup.find("Sales"));
+        target.awaitEntered(1);
+        advice.onEmployeeChanged(EmployeeChangedEvent.patched(UUID.randomUUID(), null, "Sales"));
+        CompletableFuture<String> afterChange = call(() -> lookup.find("Sales"));
+        target.awaitEntered(2);
+        target.release(1);
+        assertThat(beforeChange.get(5, TimeUnit.SECONDS)).isEqualTo("Sales-1");
+
+        // Completing the first call must not have unregistered the one started after the change
+        CompletableFuture<String> joined = callAndWaitUntilBlocked(() -> lookup.find("Sales"));
+        target.release(2);
+
+        assertThat(afterChange.get(5, TimeUnit.SECONDS)).isEqualTo("Sales-2");
+        assertThat(joined.get(5, TimeUnit.SECONDS)).isEqualTo("Sales-2");
+        assertThat(target.executions).hasValue(2);
+    }
+
+    private Lookup proxy(Lookup target, Duration maxWait) {
+        return proxy(target, new CoalescingAdvice(maxWait, meterRegistry));
+    }
+
+    private static Lookup proxy(Lookup target, CoalescingAdvice advice) {
+        AspectJProxyFactory factory = new AspectJProxyFactory(target);
+        factory.setProxyTargetClass(true);
+        factory.addAspect(advice);
+        return factory.getProxy();
+    }
+
+    private CompletableFuture<String> call(Call call) {
+        CompletableFuture<String> result = new CompletableFuture<>();
+        Thread caller = new Thread(() -> {
+            try {
+                result.complete(call.run());
+            } catch (Throwable e) {
+                result.completeExceptionally(e);
+            }
+        });
+        callers.add(caller);
+        caller.start();
+        return result;
+    }
+
+    /**
+     * Starts a call and waits until it is blocked waiting for the running call to complete.
+     */
+    private CompletableFuture<String> callAndWaitUntilBlocked(Call call) throws InterruptedException {
+        CompletableFuture<String> result = call(call);
+        Thread caller = callers.get(callers.size() - 1);
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (caller.getState() != Thread.State.TIMED_WAITING) {
+            assertThat(System.nanoTime()).as("caller blocked in time").isLessThan(deadline);
+            Thread.sleep(1);
+        }
+        return result;
+    }
+
+    private double count(String outcome) {
+        return meterRegistry.get("employee.coalescing.calls").tag("outcome", outcome).counter().count();
+    }
+
+    private interface Call {
+
+        String run() throws Exception;
+    }
+
+    /**
+     * Blocks every execution until it is released and numbers the executions in their result.
+     */
+    public static class Lookup {
+
+        private final AtomicInteger executions = new AtomicInteger();
+
+        private final Map<Integer, CountDownLatch> releases = new ConcurrentHashMap<>();
+
+        private volatile RuntimeException failure;
+
+        @Coalesce
+        public String find(String department) throws InterruptedException {
+            int execution = executions.incrementAndGet();
+            latch(execution).await();
+            if (failure != null) {
+                throw failure;
+            }
+            return department + "-" + execution;
+        }
+
+        void release(int execution) {
+            latch(execution).countDown();
+        }
+
+        private CountDownLatch latch(int execution) {
+            return releases.computeIfAbsent(execution, e -> new CountDownLatch(1));
+        }
+
+        void awaitEntered(int count) throws InterruptedException {
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (executions.get() < count) {
+                assertThat(System.nanoTime()).as("execution %d started in time", count).isLessThan(deadline);
+                Thread.sleep(1);
+            }
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.github.sneha.springboot_mysql_custom_queries.importer;
+
+import com.github.sneha.springboot_mysql_custom_queries.model.Employee;
+import com.github.sneha.springboot_mysql_custom_queries.repository.EmployeeRepository;
+import com.github.sneha.springboot_mysql_custom_queries.service.EmployeeService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+/**
+ * Imports CSV files into an embedded H2 database in chunks of four rows, so that a row the database
+ * rejects fails the batch insert of its chunk and the chunk is retried row by row.
+ *
+ * @author sneharavikumartl
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+        "spring.datasource.url=jdbc:h2:mem:import;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "employee.import.chunk-size=4"
+})
+class EmployeeImporterTest {
+
+    private static final String HEADER = "employeeName,email,salary,dept\n";
+
+    @Autowired
+    private EmployeeImporter employeeImporter;
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Test
+    void rowsRejectedByTheDatabaseDoNotFailTheRestOfTheirChunk() {
+        String taken = employeeService.createEmployee(newEmployee("Existing")).getEmail();
+        String prefix = UUID.randomUUID().toString();
+
+        EmployeeImport result = employeeImporter.importEmployees(csv(HEADER
+                + "First," + prefix + "-1@example.com,1000,Import\n"
+                + "Taken Email," + taken + ",1000,Import\n"
+                + "Third," + prefix + "-3@example.com,1000,Import\n"
+                + "Fourth," + prefix + "-4@example.com,1000,Import\n"
+                + "Next Chunk," + prefix + "-5@example.com,1000,Import\n"));
+
+        assertThat(result.getState()).isEqualTo(EmployeeImport.State.COMPLETED);
+        assertThat(result.getRowsImported()).isEqualTo(4);
+        assertThat(result.getRowsRejected()).isEqualTo(1);
+        assertThat(result.getErrors()).singleElement().satisfies(error -> {
+            assertThat(error.getRow()).isEqualTo(2);
+            assertThat(error.getErrors()).singleElement().asString().startsWith("Rejected by the database");
+        });
+        // Retried rows start over at the initial version, like rows of a chunk inserted at once
+        assertThat(employeeService.filterEmployee("Import", null, null))
+                .extracting(Employee::getEmployeeName, Employee::getVersion)
+                .containsExactlyInAnyOrder(tuple("First", 0L), tuple("Third", 0L), tuple("Fourth", 0L), tuple("Next Chunk", 0L));
+    }
+
+    @Test
+    void duplicatesWithinAChunkKeepTheFirstRow() {
+        String email = UUID.randomUUID() + "@example.com";
+
+        EmployeeImport result = employeeImporter.importEmployees(csv(HEADER
+                + "Original," + email + ",1000,Duplicates\n"
+                + "Duplicate," + email + ",1000,Duplicates\n"));
+
+        assertThat(result.getRowsImported()).isEqualTo(1);
+        assertThat(result.getErrors()).extracting(ImportRowError::getRow).containsExactly(2L);
+        assertThat(employeeRepository.getEmployeeFromDept("Duplicates")).containsExactly("Original");
+    }
+
+    @Test
+    void invalidRowsAreRejectedBeforeTheDatabase() {
+        String prefix = UUID.randomUUID().toString();
+
+        EmployeeImport result = employeeImporter.importEmployees(csv(HEADER
+                + "No Salary," + prefix + "-1@example.com,,Validation\n"
+                + "Valid," + prefix + "-2@example.com,1000,Validation\n"));
+
+        assertThat(result.getRowsImported()).isEqualTo(1);
+        assertThat(result.getErrors()).singleElement().satisfies(error -> {
+            assertThat(error.getRow()).isEqualTo(1);
+            assertThat(error.getErrors()).singleElement().asString().startsWith("salary");
+        });
+    }
+
+    private static ByteArrayInputStream csv(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Employee newEmployee(String name) {
+        Employee employee = new Employee();
+        employee.setEmployeeName(name);
+        employee.setEmail(UUID.randomUUID() + "@example.com");
+        employee.setSalary(50_000d);
+        employee.setDept("Existing");
+        return employee;
+    }
+}
@@ -0,0 +1,135 @@
+package com.github.sneha.springboot_mysql_custom_queries.index;
+
+import com.github.sneha.springboot_mysql_custom_queries.model.EmployeeNameMatch;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+/**
+ * Tests how EmployeeNames keeps its names, departments and sizes in step as employees are added,
+ * renamed, moved and removed, and which names its prefix searches find.
+ *
+ * @author sneharavikumartl
+ */
+class EmployeeNamesTest {
+
+    private final EmployeeNames names = new EmployeeNames();
+
+    @Test
+    void renamesAndMovesReplaceTheEmployee() {
+        UUID employeeId = UUID.randomUUID();
+        assertThat(names.put(employeeId, "Zoe", "Sales")).isTrue();
+
+        assertThat(names.put(employeeId, "Amy", null)).isTrue();
+        assertThat(names.names()).containsExactly("Amy");
+        assertThat(names.search("z", null, 10)).isEmpty();
+
+        assertThat(names.put(employeeId, null, "Support")).isTrue();
+        assertThat(names.department(employeeId)).isEqualTo("Support");
+        assertThat(names.names("Sales")).isEmpty();
+        assertThat(names.names("Support")).containsExactly("Amy");
+
+        assertThat(names.size()).isEqualTo(1);
+        assertThat(names.departmentCount()).isEqualTo(1);
+        assertThat(names.estimatedBytes()).isEqualTo(EmployeeNames.ENTRY_OVERHEAD_BYTES + 2 * "Amy".length());
+    }
+
+    @Test
+    void unchangedAndIncompleteEmployeesAreNotPut() {
+        UUID employeeId = UUID.randomUUID();
+        names.put(employeeId, "Amy", "Sales");
+
+        assertThat(names.put(employeeId, "Amy", "Sales")).isFalse();
+        assertThat(names.put(employeeId, null, null)).isFalse();
+        // A new employee needs both a name and a department
+        assertThat(names.put(UUID.randomUUID(), "Bob", null)).isFalse();
+        assertThat(names.put(UUID.randomUUID(), null, "Sales")).isFalse();
+
+        assertThat(names.size()).isEqualTo(1);
+        assertThat(names.departmentSize("Sales")).isEqualTo(1);
+    }
+
+    @Test
+    void removingTheLastEmployeeDropsTheDepartment() {
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        names.put(first, "Amy", "Sales");
+        names.put(second, "Bob", "Sales");
+
+        assertThat(names.remove(first)).isTrue();
+        assertThat(names.remove(first)).isFalse();
+        assertThat(names.department(first)).isNull();
+        assertThat(names.departmentSize("Sales")).isEqualTo(1);
+
+        assertThat(names.remove(second)).isTrue();
+        assertThat(names.departmentCount()).isZero();
+        assertThat(names.departmentSizes()).isEmpty();
+        assertThat(names.names()).isEmpty();
+        assertThat(names.estimatedBytes()).isZero();
+    }
+
+    @Test
+    void searchesMatchPrefixesIgnoringCase() {
+        names.put(UUID.randomUUID(), "Akira", "Sales");
+        names.put(UUID.randomUUID(), "al", "Sales");
+        names.put(UUID.randomUUID(), "ALBERT", "Sales");
+        names.put(UUID.randomUUID(), "Alan", "Sales");
+        names.put(UUID.randomUUID(), "Alzbeta", "Sales");
+        names.put(UUID.randomUUID(), "Amy", "Sales");
+
+        // Names sorting just before and just after the prefix are not matched, and the prefix itself is
+        assertThat(names.search("Al", null, 10)).extracting(EmployeeNameMatch::getEmployeeName)
+                .containsExactly("al", "Alan", "ALBERT", "Alzbeta");
+        assertThat(names.search("aLB", null, 10)).extracting(EmployeeNameMatch::getEmployeeName)
+                .containsExactly("ALBERT");
+        assertThat(names.search("al", null, 2)).extracting(EmployeeNameMatch::getEmployeeName)
+                .containsExactly("al", "Alan");
+        assertThat(names.search("alx", null, 10)).isEmpty();
+        assertThat(names.search("", null, 10)).hasSize(6);
+    }
+
+    @Test
+    void equalNamesAreKeptApart() {
+        UUID first = UUID.randomUUID();
+        names.put(first, "Amy", "Sales");
+        names.put(UUID.randomUUID(), "amy", "Sales");
+
+        assertThat(names.search("amy", null, 10)).hasSize(2);
+
+        names.remove(first);
+        assertThat(names.search("amy", null, 10)).extracting(EmployeeNameMatch::getEmployeeName).containsExactly("amy");
+    }
+
+    @Test
+    void searchesAreScopedToTheDepartment() {
+        names.put(UUID.randomUUID(), "Amy", "Sales");
+        names.put(UUID.randomUUID(), "Anna", "sales");
+        names.put(UUID.randomUUID(), "Abel", "Support");
+
+        assertThat(names.search("a", "SALES", 10)).extracting(EmployeeNameMatch::getEmployeeName, EmployeeNameMatch::getDept)
+                .containsExactly(tuple("Amy", "Sales"), tuple("Anna", "sales"));
+        assertThat(names.search("a", "Support", 10)).extracting(EmployeeNameMatch::getEmployeeName).containsExactly("Abel");
+        assertThat(names.search("a", "Marketing", 10)).isEmpty();
+        assertThat(names.search("a", null, 10)).hasSize(3);
+    }
+
+    @Test
+    void departmentsAreSizedIgnoringCase() {
+        names.put(UUID.randomUUID(), "Amy", "Sales");
+        names.put(UUID.randomUUID(), "Anna", "SALES");
+        UUID moved = UUID.randomUUID();
+        names.put(moved, "Abel", "sales");
+
+        assertThat(names.departmentSize("sAlEs")).isEqualTo(3);
+        assertThat(names.departmentSize("Support")).isZero();
+
+        names.put(moved, null, "Support");
+        assertThat(names.departmentSizes()).containsExactlyInAnyOrderEntriesOf(Map.of("sales", 2L, "support", 1L));
+        assertThat(names.departmentCount()).isEqualTo(2);
+        assertThat(names.names("SALES")).containsExactly("Amy", "Anna");
+    }
+}
@@ -0,0 +1,69 @@
+package com.github.sneha.springboot_mysql_custom_queries.jdbc;
+
+import com.github.sneha.springboot_mysql_custom_queries.event.EmployeeChangedEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.time.Duration;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests which clients the ReadYourWritesTracker considers recent writers, and for how long.
+ *
+ * @author sneharavikumartl
+ */
+class ReadYourWritesTrackerTest {
+
+    private static final EmployeeChangedEvent CHANGE = EmployeeChangedEvent.patched(UUID.randomUUID(), "Name", null);
+
+    @AfterEach
+    void clearRequest() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void onlyTheWritingClientIsARecentWriter() {
+        ReadYourWritesTracker tracker = new ReadYourWritesTracker(Duration.ofMinutes(1));
+
+        asClient("10.0.0.1");
+        tracker.onEmployeeChanged(CHANGE);
+        assertThat(tracker.isRecentWriter()).isTrue();
+
+        asClient("10.0.0.2");
+        assertThat(tracker.isRecentWriter()).isFalse();
+    }
+
+    @Test
+    void workOutsideRequestsHasNoClient() {
+        ReadYourWritesTracker tracker = new ReadYourWritesTracker(Duration.ofMinutes(1));
+
+        tracker.onEmployeeChanged(CHANGE);
+        assertThat(tracker.isRecentWriter()).isFalse();
+
+        // Nor does it mark a client that later reads
+        asClient("10.0.0.1");
+        assertThat(tracker.isRecentWriter()).isFalse();
+    }
+
+    @Test
+    void writersAreForgottenAfterTheWindow() throws InterruptedException {
+        ReadYourWritesTracker tracker = new ReadYourWritesTracker(Duration.ofMillis(100));
+        asClient("10.0.0.1");
+        tracker.onEmployeeChanged(CHANGE);
+
+        Thread.sleep(300);
+
+        assertThat(tracker.isRecentWriter()).isFalse();
+    }
+
+    private static void asClient(String remoteAddress) {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setRemoteAddr(remoteAddress);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+    }
+}
@@ -0,0 +1,199 @@
+package com.github.sneha.springboot_mysql_custom_queries.jdbc;
+
+import com.github.sneha.springboot_mysql_custom_queries.event.EmployeeChangedEvent;
+import com.github.sneha.springboot_mysql_custom_queries.exception.EmployeeDetailsNotFoundException;
+import com.github.sneha.springboot_mysql_custom_queries.index.EmployeeCounter;
+import com.github.sneha.springboot_mysql_custom_queries.model.Employee;
+import com.github.sneha.springboot_mysql_custom_queries.repository.EmployeeRepository;
+import com.github.sneha.springboot_mysql_custom_queries.service.EmployeeService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Runs the application against two embedded H2 databases, a primary and a replica, plus a replica
+ * that cannot be reached. The databases do not replicate, so a row inserted into one of them only
+ * shows which database served a read.
+ *
+ * @author sneharavikumartl
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+        "spring.datasource.url=" + ReplicaRoutingTest.PRIMARY_URL,
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "employee.datasource.replicas[0].url=" + ReplicaRoutingTest.REPLICA_URL,
+        "employee.datasource.replicas[0].username=sa",
+        "employee.datasource.replicas[1].url=jdbc:h2:tcp://localhost:1/unreachable",
+        "employee.datasource.replicas[1].username=sa",
+        "employee.datasource.connection-timeout=PT0.25S"
+})
+class ReplicaRoutingTest {
+
+    static final String PRIMARY_URL = "jdbc:h2:mem:routing_primary;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+
+    static final String REPLICA_URL = "jdbc:h2:mem:routing_replica;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+
+    private static final JdbcTemplate primary = new JdbcTemplate(new DriverManagerDataSource(PRIMARY_URL, "sa", ""));
+
+    private static final JdbcTemplate replica = new JdbcTemplate(new DriverManagerDataSource(REPLICA_URL, "sa", ""));
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private EmployeeCounter employeeCounter;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @BeforeAll
+    static void migrateReplica() {
+        Flyway.configure().dataSource(REPLICA_URL, "sa", "").locations("classpath:db/migration").load().migrate();
+    }
+
+    @AfterEach
+    void clearRequest() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void readOnlyTransactionsAreServedByTheReplica() {
+        insert(replica, "Only On Replica");
+
+        assertThat(employeeRepository.findAllEmployeeNames()).contains("Only On Replica");
+        assertThat(employeeRepository.getEmployeeFromDept("Routing")).contains("Only On Replica");
+    }
+
+    @Test
+    void writesGoToThePrimary() {
+        Employee created = employeeService.createEmployee(newEmployee("Written To Primary"));
+
+        assertThat(count(primary, created.getEmployeeId())).isEqualTo(1);
+        assertThat(count(replica, created.getEmployeeId())).isZero();
+    }
+
+    @Test
+    void readsFillingTheEmployeeCacheUseThePrimary() {
+        UUID onlyOnReplica = insert(replica, "Stale On Replica");
+        Employee created = employeeService.createEmployee(newEmployee("Cached From Primary"));
+
+        assertThat(employeeService.getEmployeeById(created.getEmployeeId()).getEmployeeName()).isEqualTo("Cached From Primary");
+        assertThatThrownBy(() -> employeeService.getEmployeeById(onlyOnReplica))
+                .isInstanceOf(EmployeeDetailsNotFoundException.class);
+    }
+
+    @Test
+    void clientsReadTheirOwnWritesFromThePrimary() {
+        asClient("10.0.0.1");
+        employeeService.createEmployee(newEmployee("Read Your Writes"));
+        assertThat(employeeRepository.findAllEmployeeNames()).contains("Read Your Writes");
+
+        asClient("10.0.0.2");
+        assertThat(employeeRepository.findAllEmployeeNames()).doesNotContain("Read Your Writes");
+    }
+
+    @Test
+    void rolledBackChangesDoNotSendReadsToThePrimary() {
+        insert(replica, "Read After Rollback");
+
+        asClient("10.0.0.3");
+        transactionTemplate.executeWithoutResult(status -> {
+            eventPublisher.publishEvent(EmployeeChangedEvent.patched(UUID.randomUUID(), "Rolled Back", null));
+            status.setRollbackOnly();
+        });
+
+        assertThat(employeeRepository.findAllEmployeeNames()).contains("Read After Rollback");
+    }
+
+    @Test
+    void allEmployeeNamesAreAsNewAsTheirVersion() {
+        insert(replica, "Not Yet Replicated Away");
+        String before = employeeService.getAllEmployeesVersion().orElseThrow();
+        employeeService.createEmployee(newEmployee("Not Yet Replicated"));
+
+        assertThat(employeeService.getAllEmployeesVersion().orElseThrow()).isNotEqualTo(before);
+        assertThat(employeeService.getAllEmployees()).contains("Not Yet Replicated").doesNotContain("Not Yet Replicated Away");
+    }
+
+    @Test
+    void countsAreReconciledWithThePrimary() {
+        employeeService.createEmployee(newEmployee("Counted On Primary"));
+        // More employees on the replica than on the primary, so that a count served by the replica shows
+        while (count(replica) <= count(primary)) {
+            insert(replica, "Only Counted On Replica");
+        }
+
+        employeeCounter.reconcile();
+
+        assertThat(employeeCounter.totalEmployees()).hasValue(count(primary));
+        assertThat(meterRegistry.get("employee.count.drift").gauge().value()).isZero();
+        assertThat(meterRegistry.get("employee.count.department.drift").gauge().value()).isZero();
+    }
+
+    @Test
+    void unreachableReplicaIsEjected() {
+        for (int i = 0; i < 4; i++) {
+            assertThat(employeeRepository.findAllEmployeeNames()).isNotNull();
+        }
+
+        assertThat(meterRegistry.get("employee.datasource.replicas.healthy").gauge().value()).isEqualTo(1);
+        assertThat(meterRegistry.get("employee.datasource.reads").tag("target", "replica-1").counter().count()).isPositive();
+    }
+
+    private static void asClient(String remoteAddress) {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setRemoteAddr(remoteAddress);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+    }
+
+    private static Employee newEmployee(String name) {
+        Employee employee = new Employee();
+        employee.setEmployeeName(name);
+        employee.setEmail(UUID.randomUUID() + "@example.com");
+        employee.setSalary(50_000d);
+        employee.setDept("Routing");
+        return employee;
+    }
+
+    private static UUID insert(JdbcTemplate database, String name) {
+        UUID employeeId = UUID.randomUUID();
+        database.update("INSERT INTO employees (employee_id, employee_name, email, salary, department, version) VALUES (?, ?, ?, ?, ?, 0)",
+                employeeId, name, UUID.randomUUID() + "@example.com", 50_000d, "Routing");
+        return employeeId;
+    }
+
+    private static long count(JdbcTemplate database) {
+        return database.queryForObject("SELECT COUNT(*) FROM employees", Long.class);
+    }
+
+    private static Integer count(JdbcTemplate database, UUID employeeId) {
+        return database.queryForObject("SELECT COUNT(*) FROM employees WHERE employee_id = ?", Integer.class, employeeId);
+    }
+}
@@ -0,0 +1,99 @@
+package com.github.sneha.springboot_mysql_custom_queries.limiter;
+
+import com.github.sneha.springboot_mysql_custom_queries.exception.ServiceOverloadedException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests that the ConcurrencyLimitInterceptor releases exactly the permits it took, whatever the outcome
+ * of the request, and sheds each endpoint group on its own.
+ *
+ * @author sneharavikumartl
+ */
+class ConcurrencyLimitInterceptorTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final ConcurrencyLimitInterceptor interceptor = new ConcurrencyLimitInterceptor(Map.of(
+            EndpointGroup.READS, new GradientConcurrencyLimit(1, 1, 1, 1.5, Long.MAX_VALUE),
+            EndpointGroup.STREAMS, new GradientConcurrencyLimit(1, 1, 1, 1.5, Long.MAX_VALUE),
+            EndpointGroup.WRITES, new GradientConcurrencyLimit(1, 1, 1, 1.5, Long.MAX_VALUE),
+            EndpointGroup.ADMIN, new GradientConcurrencyLimit(1, 1, 1, 1.5, Long.MAX_VALUE)), meterRegistry);
+
+    private final MockHttpServletResponse response = new MockHttpServletResponse();
+
+    @Test
+    void requestsOverTheLimitAreShedWithRetryAfter() {
+        assertThat(interceptor.preHandle(request("GET", "/employees/getAllEmployees"), response, null)).isTrue();
+
+        assertThatThrownBy(() -> interceptor.preHandle(request("GET", "/employees/getAllEmployees"), response, null))
+                .isInstanceOfSatisfying(ServiceOverloadedException.class, e -> assertThat(e.getRetryAfterSeconds()).isPositive());
+        assertThat(meterRegistry.get("employee.concurrency.rejected").tag("group", "reads").functionCounter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void groupsAreLimitedSeparately() {
+        interceptor.preHandle(request("GET", "/employees/getAllEmployees"), response, null);
+
+        assertThat(interceptor.preHandle(request("POST", "/employees/addEmployee"), response, null)).isTrue();
+        assertThat(interceptor.preHandle(request("DELETE", "/admin/deleteEmployee"), response, null)).isTrue();
+    }
+
+    @Test
+    void streamsAreLimitedSeparatelyFromReads() {
+        interceptor.preHandle(request("GET", "/employees/getAllEmployees"), response, null);
+
+        assertThat(interceptor.preHandle(request("GET", "/employees/stream"), response, null)).isTrue();
+        assertThatThrownBy(() -> interceptor.preHandle(request("GET", "/employees/getAllEmployeeDetails"), response, null))
+                .isInstanceOf(ServiceOverloadedException.class);
+        assertThat(interceptor.getLimits().get(EndpointGroup.READS).getInFlight()).isEqualTo(1);
+    }
+
+    @Test
+    void failedRequestsReleaseTheirPermit() {
+        MockHttpServletRequest failed = request("GET", "/employees/getAllEmployees");
+        interceptor.preHandle(failed, response, null);
+        interceptor.afterCompletion(failed, response, null, new IllegalStateException("Query failed"));
+
+        assertThat(interceptor.getLimits().get(EndpointGroup.READS).getInFlight()).isZero();
+        assertThat(interceptor.preHandle(request("GET", "/employees/getAllEmployees"), response, null)).isTrue();
+    }
+
+    @Test
+    void permitsAreReleasedOnlyOnce() {
+        MockHttpServletRequest admitted = request("GET", "/employees/getAllEmployees");
+        interceptor.preHandle(admitted, response, null);
+        MockHttpServletRequest running = request("GET", "/employees/getAllEmployees");
+        interceptor.afterCompletion(admitted, response, null, null);
+        interceptor.preHandle(running, response, null);
+
+        // A second completion of the same request, as after an async dispatch, must not release the permit of another
+        interceptor.afterCompletion(admitted, response, null, null);
+
+        assertThat(interceptor.getLimits().get(EndpointGroup.READS).getInFlight()).isEqualTo(1);
+        assertThatThrownBy(() -> interceptor.preHandle(request("GET", "/employees/getAllEmployees"), response, null))
+                .isInstanceOf(ServiceOverloadedException.class);
+    }
+
+    @Test
+    void shedRequestsDoNotReleaseAPermit() {
+        interceptor.preHandle(request("GET", "/employees/getAllEmployees"), response, null);
+        MockHttpServletRequest shed = request("GET", "/employees/getAllEmployees");
+        assertThatThrownBy(() -> interceptor.preHandle(shed, response, null)).isInstanceOf(ServiceOverloadedException.class);
+
+        interceptor.afterCompletion(shed, response, null, null);
+
+        assertThat(interceptor.getLimits().get(EndpointGroup.READS).getInFlight()).isEqualTo(1);
+    }
+
+    private static MockHttpServletRequest request(String method, String path) {
+        return new MockHttpServletRequest(method, path);
+    }
+}
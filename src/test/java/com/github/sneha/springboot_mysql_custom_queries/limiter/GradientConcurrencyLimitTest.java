@@ -0,0 +1,138 @@
+package com.github.sneha.springboot_mysql_custom_queries.limiter;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests the admission and the limit updates of the GradientConcurrencyLimit. Windows end after their
+ * tenth latency, since the window duration is zero, so every ten releases update the limit once.
+ *
+ * @author sneharavikumartl
+ */
+class GradientConcurrencyLimitTest {
+
+    private static final long MILLIS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    @Test
+    void requestsOverTheLimitAreRejectedUntilOneIsReleased() {
+        GradientConcurrencyLimit limit = new GradientConcurrencyLimit(2, 1, 10, 1.5, Long.MAX_VALUE);
+
+        assertThat(limit.tryAcquire()).isTrue();
+        assertThat(limit.tryAcquire()).isTrue();
+        assertThat(limit.tryAcquire()).isFalse();
+        assertThat(limit.getInFlight()).isEqualTo(2);
+        assertThat(limit.getRejected()).isEqualTo(1);
+
+        limit.release(MILLIS);
+        assertThat(limit.tryAcquire()).isTrue();
+    }
+
+    @Test
+    void concurrentRequestsNeverExceedTheLimit() throws InterruptedException {
+        GradientConcurrencyLimit limit = new GradientConcurrencyLimit(4, 1, 10, 1.5, Long.MAX_VALUE);
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        AtomicInteger admitted = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+        try {
+            for (int thread = 0; thread < 16; thread++) {
+                executor.execute(() -> {
+                    try {
+                        start.await();
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                    for (int i = 0; i < 10_000; i++) {
+                        if (limit.tryAcquire()) {
+                            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                            admitted.incrementAndGet();
+                            running.decrementAndGet();
+                            limit.release(MILLIS);
+                        }
+                    }
+                });
+            }
+            start.countDown();
+        } finally {
+            executor.shutdown();
+            assertThat(executor.awaitTermination(30, TimeUnit.SECONDS)).isTrue();
+        }
+
+        assertThat(maxRunning.get()).isBetween(1, 4);
+        assertThat(limit.getInFlight()).isZero();
+        assertThat(admitted.get() + limit.getRejected()).isEqualTo(16 * 10_000);
+    }
+
+    @Test
+    void limitGrowsWhileSaturatedAndLatencyIsSteady() {
+        GradientConcurrencyLimit limit = new GradientConcurrencyLimit(10, 1, 100, 1.5, 0);
+
+        for (int window = 0; window < 20; window++) {
+            saturatedWindow(limit, MILLIS);
+        }
+
+        assertThat(limit.getLimit()).isGreaterThan(20);
+    }
+
+    @Test
+    void limitDoesNotGrowWhileMostOfItIsUnused() {
+        GradientConcurrencyLimit limit = new GradientConcurrencyLimit(10, 1, 100, 1.5, 0);
+
+        for (int window = 0; window < 20; window++) {
+            sequentialWindow(limit, MILLIS);
+        }
+
+        assertThat(limit.getLimit()).isEqualTo(10);
+    }
+
+    @Test
+    void limitShrinksToTheMinimumWhenLatencyRises() {
+        GradientConcurrencyLimit limit = new GradientConcurrencyLimit(50, 5, 100, 1.5, 0);
+        sequentialWindow(limit, MILLIS);
+
+        double previous = limit.getLimit();
+        for (int window = 0; window < 200; window++) {
+            sequentialWindow(limit, 20 * MILLIS);
+            assertThat(limit.getLimit()).isLessThanOrEqualTo(previous);
+            previous = limit.getLimit();
+        }
+
+        assertThat(limit.getLimit()).isEqualTo(5);
+        assertThat(limit.getShortRttNanos()).isEqualTo(20 * MILLIS);
+    }
+
+    /**
+     * Admits as many requests as the limit allows and then releases them, so that the window is saturated.
+     */
+    private static void saturatedWindow(GradientConcurrencyLimit limit, long rttNanos) {
+        int samples = 0;
+        while (samples < 10) {
+            int admitted = 0;
+            while (limit.tryAcquire()) {
+                admitted++;
+            }
+            for (int i = 0; i < admitted; i++) {
+                limit.release(rttNanos);
+            }
+            samples += admitted;
+        }
+    }
+
+    /**
+     * Runs ten requests one after the other, which leaves the window unsaturated.
+     */
+    private static void sequentialWindow(GradientConcurrencyLimit limit, long rttNanos) {
+        for (int i = 0; i < 10; i++) {
+            assertThat(limit.tryAcquire()).isTrue();
+            limit.release(rttNanos);
+        }
+    }
+}
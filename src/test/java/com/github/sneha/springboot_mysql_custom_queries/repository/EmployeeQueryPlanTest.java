@@ -0,0 +1,179 @@
+package com.github.sneha.springboot_mysql_custom_queries.repository;
+
+import com.github.sneha.springboot_mysql_custom_queries.utils.EmployeeQueryProvider;
+import com.github.sneha.springboot_mysql_custom_queries.utils.KeysetCursor;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Parameter;
+import jakarta.persistence.Query;
+import org.hibernate.Session;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs EXPLAIN for every query in EmployeeQueryProvider and every shape of the filter, and fails
+ * if one of them reads the whole employees table. The schema is created by the Flyway migrations and
+ * validated by Hibernate, on an H2 database in MySQL mode standing in for MySQL.
+ *
+ * @author sneharavikumartl
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:query_plans;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.github.sneha.springboot_mysql_custom_queries.repository.EmployeeQueryPlanTest$RecordingStatementInspector"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(EmployeeCriteriaBuilderImpl.class)
+class EmployeeQueryPlanTest {
+
+    /**
+     * Queries that read every employee by design.
+     */
+    private static final Set<String> FULL_SCANS_BY_DESIGN = Set.of(
+            "FIND_ALL_EMPLOYEES", "STREAM_ALL_EMPLOYEE_DETAILS", "STREAM_ALL_EMPLOYEE_SUMMARIES");
+
+    /**
+     * Queries that read every employee by design, but only the columns of an index, and the index they have to read
+     * instead of the table.
+     */
+    private static final Map<String, String> INDEX_SCANS_BY_DESIGN = Map.of(
+            "STREAM_ALL_DEPARTMENT_SALARIES", "idx_employees_department_salary");
+
+    private static final String FULL_SCAN = "tableScan";
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private EmployeeCriteriaBuilderRepository employeeCriteriaBuilder;
+
+    @BeforeEach
+    void clearRecordedStatements() {
+        RecordingStatementInspector.STATEMENTS.clear();
+    }
+
+    @Test
+    void queryProviderQueriesUseIndexes() throws IllegalAccessException {
+        for (Field field : EmployeeQueryProvider.class.getFields()) {
+            String jpql = (String) field.get(null);
+            if (!Modifier.isStatic(field.getModifiers()) || !jpql.startsWith("SELECT")) {
+                continue;
+            }
+            Query query = entityManager.createQuery(jpql).setMaxResults(10);
+            for (Parameter<?> parameter : query.getParameters()) {
+                query.setParameter(parameter.getName(), sampleValue(parameter.getParameterType()));
+            }
+            query.getResultList();
+
+            String plan = explainLastStatement();
+            if (FULL_SCANS_BY_DESIGN.contains(field.getName())) {
+                continue;
+            }
+            String index = INDEX_SCANS_BY_DESIGN.get(field.getName());
+            if (index != null) {
+                assertThat(plan).as("plan of %s", field.getName()).contains(index);
+                continue;
+            }
+            assertThat(plan).as("plan of %s", field.getName()).doesNotContain(FULL_SCAN);
+        }
+    }
+
+    @Test
+    void derivedQueriesUseIndexes() {
+        employeeRepository.countByDept("Engineering");
+        assertThat(explainLastStatement()).as("plan of countByDept").doesNotContain(FULL_SCAN);
+    }
+
+    @Test
+    void criteriaFiltersUseIndexes() {
+        KeysetCursor after = new KeysetCursor("Engineering", 1000d, new UUID(0, 0));
+        List<String> plans = new ArrayList<>();
+
+        employeeCriteriaBuilder.filterEmployee("Engineering", null, null);
+        plans.add(explainLastStatement());
+        employeeCriteriaBuilder.filterEmployee("Engineering", 1000d, 2000d);
+        plans.add(explainLastStatement());
+        employeeCriteriaBuilder.filterEmployee(null, 1000d, null);
+        plans.add(explainLastStatement());
+        employeeCriteriaBuilder.filterEmployee(null, null, 2000d);
+        plans.add(explainLastStatement());
+        employeeCriteriaBuilder.filterEmployee(null, 1000d, 2000d);
+        plans.add(explainLastStatement());
+        employeeCriteriaBuilder.filterEmployeeAfter("Engineering", 1000d, 2000d, after, 10);
+        plans.add(explainLastStatement());
+        employeeCriteriaBuilder.filterEmployeeAfter("Engineering", null, null, after, 10);
+        plans.add(explainLastStatement());
+
+        assertThat(plans).allSatisfy(plan -> assertThat(plan).doesNotContain(FULL_SCAN));
+    }
+
+    private static Object sampleValue(Class<?> type) {
+        if (type == UUID.class) {
+            return new UUID(0, 0);
+        }
+        if (type == Double.class) {
+            return 1000d;
+        }
+        return "Engineering";
+    }
+
+    /**
+     * Runs EXPLAIN for the last statement sent to the database. Parameters are bound to null,
+     * H2 chooses the plan from the predicates, not from the values.
+     *
+     * @return the plan
+     */
+    private String explainLastStatement() {
+        List<String> statements = RecordingStatementInspector.STATEMENTS;
+        assertThat(statements).isNotEmpty();
+        String sql = statements.get(statements.size() - 1);
+        return entityManager.unwrap(Session.class).doReturningWork(connection -> {
+            try (PreparedStatement explain = connection.prepareStatement("EXPLAIN " + sql)) {
+                int parameterCount = explain.getParameterMetaData().getParameterCount();
+                for (int i = 1; i <= parameterCount; i++) {
+                    explain.setObject(i, null);
+                }
+                try (ResultSet plan = explain.executeQuery()) {
+                    plan.next();
+                    return plan.getString(1);
+                }
+            }
+        });
+    }
+
+    /**
+     * Records the SQL of every statement Hibernate prepares.
+     */
+    public static class RecordingStatementInspector implements StatementInspector {
+
+        static final List<String> STATEMENTS = new ArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+}
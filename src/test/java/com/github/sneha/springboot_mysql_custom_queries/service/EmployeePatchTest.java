@@ -0,0 +1,220 @@
+package com.github.sneha.springboot_mysql_custom_queries.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.sneha.springboot_mysql_custom_queries.config.CacheConfig;
+import com.github.sneha.springboot_mysql_custom_queries.controller.EmployeeController;
+import com.github.sneha.springboot_mysql_custom_queries.exception.EmployeeDetailsNotFoundException;
+import com.github.sneha.springboot_mysql_custom_queries.exception.EmployeeVersionConflictException;
+import com.github.sneha.springboot_mysql_custom_queries.index.DepartmentIndex;
+import com.github.sneha.springboot_mysql_custom_queries.index.EmployeeCounter;
+import com.github.sneha.springboot_mysql_custom_queries.model.Employee;
+import com.github.sneha.springboot_mysql_custom_queries.model.EmployeePatch;
+import com.github.sneha.springboot_mysql_custom_queries.repository.EmployeeBatchInsertRepository;
+import com.github.sneha.springboot_mysql_custom_queries.repository.EmployeeCriteriaBuilderImpl;
+import com.github.sneha.springboot_mysql_custom_queries.utils.EmployeeIdGenerator;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.Validator;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Patches employees through the EmployeeController and the EmployeeService, on an H2 database in MySQL
+ * mode standing in for MySQL, and checks the new version, the errors for unknown and stale employees,
+ * the columns the UPDATE statement writes and the eviction of the cached employee.
+ *
+ * @author sneharavikumartl
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:patches;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.github.sneha.springboot_mysql_custom_queries.service.EmployeePatchTest$RecordingStatementInspector"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({EmployeeController.class, EmployeeService.class, EmployeeCriteriaBuilderImpl.class, CacheConfig.class, EmployeePatchTest.Caches.class})
+class EmployeePatchTest {
+
+    @MockBean
+    private EmployeeBatchInsertRepository employeeBatchInsert;
+
+    @MockBean
+    private EmployeeIdGenerator employeeIdGenerator;
+
+    @MockBean
+    private DepartmentIndex departmentIndex;
+
+    @MockBean
+    private EmployeeCounter employeeCounter;
+
+    @MockBean
+    private Validator validator;
+
+    @MockBean
+    private SalaryStatsService salaryStatsService;
+
+    @MockBean
+    private MappingJackson2SmileHttpMessageConverter smileConverter;
+
+    @MockBean
+    private MappingJackson2CborHttpMessageConverter cborConverter;
+
+    @MockBean
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private EmployeeController employeeController;
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    private Employee employee;
+
+    @BeforeEach
+    void addEmployee() {
+        employee = new Employee();
+        employee.setEmployeeId(UUID.randomUUID());
+        employee.setEmployeeName("Original");
+        employee.setEmail(UUID.randomUUID() + "@example.com");
+        employee.setSalary(50_000d);
+        employee.setDept("Patches");
+        employee.markNew();
+        entityManager.persist(employee);
+        entityManager.flush();
+        entityManager.clear();
+        RecordingStatementInspector.STATEMENTS.clear();
+    }
+
+    @Test
+    void patchesAreAnsweredWithNoContentAndTheNewVersion() {
+        ResponseEntity<Void> response = employeeController.patchEmployee(employee.getEmployeeId(), patch(0L, 60_000d));
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NO_CONTENT);
+        assertThat(response.getHeaders().getETag()).isEqualTo("\"1\"");
+        Employee patched = entityManager.find(Employee.class, employee.getEmployeeId());
+        assertThat(patched.getVersion()).isEqualTo(1);
+        assertThat(patched.getSalary()).isEqualTo(60_000d);
+
+        // The ETag is the version the next patch is based on
+        assertThat(employeeController.patchEmployee(employee.getEmployeeId(), patch(1L, 70_000d)).getHeaders().getETag())
+                .isEqualTo("\"2\"");
+    }
+
+    @Test
+    void unknownEmployeesAreNotFound() {
+        assertThatThrownBy(() -> employeeService.patchEmployee(UUID.randomUUID(), patch(0L, 60_000d)))
+                .isInstanceOf(EmployeeDetailsNotFoundException.class);
+    }
+
+    @Test
+    void staleVersionsConflictAndChangeNothing() {
+        employeeService.patchEmployee(employee.getEmployeeId(), patch(0L, 60_000d));
+
+        assertThatThrownBy(() -> employeeService.patchEmployee(employee.getEmployeeId(), patch(0L, 70_000d)))
+                .isInstanceOf(EmployeeVersionConflictException.class);
+        entityManager.clear();
+        Employee current = entityManager.find(Employee.class, employee.getEmployeeId());
+        assertThat(current.getVersion()).isEqualTo(1);
+        assertThat(current.getSalary()).isEqualTo(60_000d);
+    }
+
+    @Test
+    void onlyTheChangedColumnsAreWritten() {
+        EmployeePatch patch = patch(0L, 60_000d);
+        patch.setDept("Renamed");
+
+        employeeService.patchEmployee(employee.getEmployeeId(), patch);
+
+        assertThat(RecordingStatementInspector.STATEMENTS)
+                .filteredOn(sql -> sql.startsWith("update"))
+                .singleElement()
+                .satisfies(sql -> {
+                    String assignments = sql.substring(sql.indexOf(" set ") + 5, sql.indexOf(" where "));
+                    assertThat(assignments.split(",")).extracting(assignment -> assignment.split("=")[0].trim())
+                            .containsExactly("salary", "department", "version");
+                });
+        Employee patched = entityManager.find(Employee.class, employee.getEmployeeId());
+        assertThat(patched.getEmployeeName()).isEqualTo("Original");
+        assertThat(patched.getDept()).isEqualTo("Renamed");
+    }
+
+    @Test
+    void patchesEvictTheCachedEmployee() {
+        Cache cache = cacheManager.getCache(CacheConfig.EMPLOYEES_CACHE);
+        cache.put(employee.getEmployeeId(), employee);
+
+        employeeService.patchEmployee(employee.getEmployeeId(), patch(0L, 60_000d));
+
+        assertThat(cache.get(employee.getEmployeeId())).isNull();
+    }
+
+    @Test
+    void conflictingPatchesKeepTheCachedEmployee() {
+        Cache cache = cacheManager.getCache(CacheConfig.EMPLOYEES_CACHE);
+        cache.put(employee.getEmployeeId(), employee);
+
+        assertThatThrownBy(() -> employeeService.patchEmployee(employee.getEmployeeId(), patch(5L, 60_000d)))
+                .isInstanceOf(EmployeeVersionConflictException.class);
+
+        assertThat(cache.get(employee.getEmployeeId())).isNotNull();
+    }
+
+    private static EmployeePatch patch(long version, double salary) {
+        EmployeePatch patch = new EmployeePatch();
+        patch.setVersion(version);
+        patch.setSalary(salary);
+        return patch;
+    }
+
+    @TestConfiguration
+    static class Caches {
+
+        @Bean
+        CacheManager cacheManager() {
+            return new ConcurrentMapCacheManager(CacheConfig.EMPLOYEES_CACHE);
+        }
+    }
+
+    /**
+     * Records the SQL of every statement Hibernate prepares.
+     */
+    public static class RecordingStatementInspector implements StatementInspector {
+
+        static final List<String> STATEMENTS = new ArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+}